@@ -0,0 +1,83 @@
+package espacial.documentador;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentacionBenchmark {
+
+    private final List<String> valores = Arrays.asList("ANTIMATERIA", "METAL", "CRISTAL");
+
+    private final Texto descripcion = Texto.con(Arrays.asList(
+            Fragmento.texto("Vehículo espacial que recorre el tablero de la "),
+            Fragmento.enlaceACodigo("BatallaEspacial", "BatallaEspacial", "BatallaEspacial"),
+            Fragmento.texto(".")));
+
+    private final Texto pre = Texto.plano("fue creada la BatallaEspacial");
+
+    private final Texto parametro = Texto.plano("tipifica la carga");
+
+    private Documentacion documentacion;
+
+    @Setup
+    public void crearDocumentacion() {
+
+        documentacion = new Documentacion(new Salida(Channels.newChannel(OutputStream.nullOutputStream())));
+    }
+
+    @TearDown
+    public void terminar() {
+
+        documentacion.terminar();
+    }
+
+    @Benchmark
+    public void escribirTipo() {
+
+        documentacion.escribirTipo("TipoEspacial");
+    }
+
+    @Benchmark
+    public void escribirDescripcion() {
+
+        documentacion.escribirDescripcion(descripcion);
+    }
+
+    @Benchmark
+    public void escribirMetodo() {
+
+        documentacion.escribirMetodo("Nave.cargarDesdeEste(Sustancia,int)", "void cargarDesdeEste(Sustancia sustancia, int cantidad)");
+    }
+
+    @Benchmark
+    public void escribirPre() {
+
+        documentacion.escribirPre(pre);
+    }
+
+    @Benchmark
+    public void escribirParametro() {
+
+        documentacion.escribirParametro("sustancia", parametro);
+    }
+
+    @Benchmark
+    public void escribirValoresEnumerados() {
+
+        documentacion.escribirValoresEnumerados("Sustancia", valores);
+    }
+}
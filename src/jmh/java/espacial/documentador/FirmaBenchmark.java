@@ -0,0 +1,45 @@
+package espacial.documentador;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FirmaBenchmark {
+
+    @Param({"0", "2", "8"})
+    public int parametros;
+
+    private Operacion metodo;
+
+    @Setup
+    public void crearMetodo() {
+
+        List<Parametro> lista = new ArrayList<>();
+
+        for (int i = 0; i < parametros; i++) {
+
+            lista.add(new Parametro("Sustancia", "sustancia" + i));
+        }
+
+        metodo = Operacion.metodo("void", "cargarDesdeEste", lista, Collections.emptyList());
+    }
+
+    @Benchmark
+    public String firma() {
+
+        return metodo.firma();
+    }
+}
@@ -0,0 +1,49 @@
+package espacial.documentador;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneracionBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int miembros;
+
+    @Param({"esqueleto", "compacta"})
+    public String piel;
+
+    private List<Tipo> tipos;
+
+    @Setup
+    public void crearModelo() {
+
+        tipos = ModeloSintetico.conMiembros(miembros);
+    }
+
+    /* sólo el renderizado: el documento no se publica en disco ni espera al fsync */
+    @Benchmark
+    public void escribirDocumento() {
+
+        new Documentacion(new Salida(Channels.newChannel(OutputStream.nullOutputStream())), Piel.llamada(piel))
+                .escribirDocumento(tipos);
+    }
+}
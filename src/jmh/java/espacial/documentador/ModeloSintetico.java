@@ -0,0 +1,47 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ModeloSintetico {
+
+    private static final int MIEMBROS_POR_TIPO = 10;
+
+    static List<Tipo> conMiembros(int miembros) {
+
+        List<Tipo> tipos = new ArrayList<>();
+        int cantidadDeTipos = Math.max(1, miembros / MIEMBROS_POR_TIPO);
+
+        for (int i = 0; i < cantidadDeTipos; i++) {
+
+            List<Operacion> metodos = new ArrayList<>();
+
+            /* el constructor es uno de los miembros */
+            for (int j = 0; j < Math.min(miembros, MIEMBROS_POR_TIPO) - 1; j++) {
+
+                metodos.add(metodo(i, j));
+            }
+
+            tipos.add(Tipo.clase("Tipo" + i, String.format("%06d", i),
+                    Texto.plano("Tipo sintético número " + i + " de la Batalla Espacial."),
+                    Arrays.asList(Operacion.constructor("Tipo" + i, Arrays.asList(),
+                            Arrays.asList(Condicion.post(Texto.plano("fue creado el Tipo" + i))))),
+                    metodos));
+        }
+
+        return tipos;
+    }
+
+    static Operacion metodo(int tipo, int numero) {
+
+        return Operacion.metodo("int", "operacion" + numero,
+                Arrays.asList(new Parametro("Sustancia", "sustancia"), new Parametro("int", "cantidad")),
+                Arrays.asList(
+                        Condicion.pre(Texto.plano("la nave " + tipo + " fue creada y la operación " + numero + " está disponible")),
+                        Condicion.parametro("sustancia", Texto.plano("tipifica la carga")),
+                        Condicion.parametro("cantidad", Texto.plano("cantidad de unidades a cargar")),
+                        Condicion.post(Texto.plano("la operación " + numero + " fue aplicada")),
+                        Condicion.retorno(Texto.plano("porcentaje comprendido entre [0..100]"))));
+    }
+}
@@ -0,0 +1,43 @@
+package espacial.documentador;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextoBenchmark {
+
+    private final String comentario = " Vehículo espacial que recorre\n   el tablero    de la Batalla Espacial.\n"
+            + "   Puede avanzar hacia el NORTE, el SUR, el ESTE o el OESTE\n   si hay lugar en el casillero (x < 10).";
+
+    private Salida salida;
+
+    @Setup
+    public void crearSalida() {
+
+        salida = new Salida(Channels.newChannel(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void cerrarSalida() {
+
+        salida.cerrar();
+    }
+
+    @Benchmark
+    public Salida escribirTextoHtml() {
+
+        return salida.escribirTextoHtml(comentario);
+    }
+}
@@ -0,0 +1,344 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+ * los fragmentos de todos los Tipos se guardan uno detrás de otro en un único almacén y el índice registra
+ * la posición y la longitud de cada uno: el documento se arma transfiriéndolos de canal a canal
+ */
+public class CacheDeFragmentos {
+
+    /* cambia cuando cambia la forma en que Documentacion renderiza un Tipo */
+    private static final String FORMATO = "4";
+
+    private static final String INDICE = "indice.properties";
+
+    private static final String VERSION = "version";
+
+    private static final String ALMACEN = "almacen";
+
+    private static final String PREFIJO_FRAGMENTO = "fragmento.";
+
+    private static final String EXTENSION = ".dat";
+
+    private final Path directorio;
+
+    private final String version;
+
+    private FileChannel almacen;
+
+    private int generacion;
+
+    /* posición y longitud de cada fragmento en el almacén, por huella del Tipo */
+    private final Map<String, long[]> ubicaciones = new ConcurrentHashMap<>();
+
+    /* huellas usadas en esta ejecución: los fragmentos de las demás están vencidos */
+    private final Set<String> vigentes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger reutilizados = new AtomicInteger();
+
+    private final AtomicInteger renderizados = new AtomicInteger();
+
+    private boolean compactada;
+
+    private CacheDeFragmentos(Path directorio, String version) {
+
+        this.directorio = directorio;
+        this.version = version;
+    }
+
+    public static CacheDeFragmentos en(Path directorio, Piel piel) {
+
+        CacheDeFragmentos cache = new CacheDeFragmentos(directorio, FORMATO + "/" + piel.huella());
+
+        try {
+
+            Files.createDirectories(directorio);
+            cache.abrir(cache.leerIndice());
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible abrir la cache '%s'", directorio), e);
+        }
+
+        return cache;
+    }
+
+    private void abrir(Properties indice) throws IOException {
+
+        boolean vigente = version.equals(indice.getProperty(VERSION));
+
+        if (vigente) {
+
+            generacion = Integer.parseInt(indice.getProperty(ALMACEN, "0"));
+        }
+
+        /* un almacén de otra generación quedó de una compactación interrumpida */
+        eliminarAlmacenesSalvo(nombreDelAlmacen(generacion));
+
+        almacen = FileChannel.open(directorio.resolve(nombreDelAlmacen(generacion)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+
+        if (vigente && cargarUbicaciones(indice)) {
+
+            return;
+        }
+
+        ubicaciones.clear();
+        almacen.truncate(0);
+    }
+
+    private boolean cargarUbicaciones(Properties indice) throws IOException {
+
+        long tamanio = almacen.size();
+
+        for (String clave : indice.stringPropertyNames()) {
+
+            if (clave.startsWith(PREFIJO_FRAGMENTO)) {
+
+                String[] ubicacion = indice.getProperty(clave).split(",");
+                long posicion = Long.parseLong(ubicacion[0]);
+                long longitud = Long.parseLong(ubicacion[1]);
+
+                /* el índice describe un almacén que ya no existe */
+                if (posicion + longitud > tamanio) {
+
+                    return false;
+                }
+
+                ubicaciones.put(clave.substring(PREFIJO_FRAGMENTO.length()), new long[] { posicion, longitud });
+            }
+        }
+
+        return true;
+    }
+
+    /* deja el fragmento del Tipo en el almacén, renderizándolo sólo si no estaba, y devuelve su huella */
+    public String preparar(Tipo tipo, Function<Tipo, byte[]> renderizar) {
+
+        String huella = tipo.huella();
+        vigentes.add(huella);
+
+        /* dos Tipos con la misma huella en hilos distintos: uno renderiza y el otro espera su ubicación */
+        boolean[] renderizado = new boolean[1];
+
+        ubicaciones.computeIfAbsent(huella, nueva -> {
+
+            renderizado[0] = true;
+
+            return agregar(huella, renderizar.apply(tipo));
+        });
+
+        (renderizado[0] ? renderizados : reutilizados).incrementAndGet();
+
+        return huella;
+    }
+
+    public byte[] obtener(Tipo tipo, Function<Tipo, byte[]> renderizar) {
+
+        long[] ubicacion = ubicaciones.get(preparar(tipo, renderizar));
+        ByteBuffer contenido = ByteBuffer.allocate((int) ubicacion[1]);
+
+        try {
+
+            while (contenido.hasRemaining()) {
+
+                if (almacen.read(contenido, ubicacion[0] + contenido.position()) < 0) {
+
+                    throw new IOException("El almacén terminó antes que el fragmento");
+                }
+            }
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible leer el fragmento '%s'", tipo.nombre()), e);
+        }
+
+        return contenido.array();
+    }
+
+    public void transferirA(Salida salida, String huella) {
+
+        long[] ubicacion = ubicaciones.get(huella);
+
+        try {
+
+            salida.transferirDesde(almacen, ubicacion[0], ubicacion[1]);
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible transferir el fragmento '%s'", huella), e);
+        }
+    }
+
+    private synchronized long[] agregar(String huella, byte[] contenido) {
+
+        try {
+
+            long posicion = almacen.size();
+            ByteBuffer bytes = ByteBuffer.wrap(contenido);
+
+            while (bytes.hasRemaining()) {
+
+                almacen.write(bytes, posicion + bytes.position());
+            }
+
+            return new long[] { posicion, contenido.length };
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible guardar el fragmento '%s'", huella), e);
+        }
+    }
+
+    public void guardar() {
+
+        try {
+
+            ubicaciones.keySet().retainAll(vigentes);
+
+            long vivos = ubicaciones.values().stream().mapToLong(ubicacion -> ubicacion[1]).sum();
+            long vencidos = almacen.size() - vivos;
+
+            /* se compacta cuando al menos la mitad del almacén son fragmentos vencidos */
+            if (vencidos > 0 && vencidos >= vivos) {
+
+                compactar();
+            }
+
+            almacen.force(false);
+            escribirIndice();
+
+            almacen.close();
+            eliminarAlmacenesSalvo(nombreDelAlmacen(generacion));
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible guardar la cache '%s'", directorio), e);
+        }
+    }
+
+    /*
+     * copia los fragmentos vigentes a un almacén de la generación siguiente: hasta que se escribe el índice
+     * sigue valiendo el anterior
+     */
+    private void compactar() throws IOException {
+
+        Path compactado = directorio.resolve(nombreDelAlmacen(generacion + 1));
+        List<long[]> enOrden = new ArrayList<>(ubicaciones.values());
+        enOrden.sort(Comparator.comparingLong(ubicacion -> ubicacion[0]));
+
+        try (FileChannel destino = FileChannel.open(compactado,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            long posicion = 0;
+
+            for (long[] ubicacion : enOrden) {
+
+                long transferidos = 0;
+
+                while (transferidos < ubicacion[1]) {
+
+                    transferidos += almacen.transferTo(ubicacion[0] + transferidos, ubicacion[1] - transferidos, destino);
+                }
+
+                ubicacion[0] = posicion;
+                posicion += ubicacion[1];
+            }
+
+            destino.force(false);
+        }
+
+        almacen.close();
+        generacion++;
+        almacen = FileChannel.open(compactado, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        compactada = true;
+    }
+
+    private void escribirIndice() throws IOException {
+
+        Properties indice = new Properties();
+        indice.setProperty(VERSION, version);
+        indice.setProperty(ALMACEN, String.valueOf(generacion));
+        ubicaciones.forEach((huella, ubicacion) ->
+                indice.setProperty(PREFIJO_FRAGMENTO + huella, ubicacion[0] + "," + ubicacion[1]));
+
+        Path temporal = directorio.resolve(INDICE + "." + ProcessHandle.current().pid() + ".tmp");
+
+        try (OutputStream salida = Files.newOutputStream(temporal)) {
+
+            indice.store(salida, "Posición y longitud de cada fragmento en el almacén");
+        }
+
+        Files.move(temporal, directorio.resolve(INDICE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int reutilizados() {
+
+        return reutilizados.get();
+    }
+
+    public int renderizados() {
+
+        return renderizados.get();
+    }
+
+    public boolean compactada() {
+
+        return compactada;
+    }
+
+    private Properties leerIndice() throws IOException {
+
+        Properties indice = new Properties();
+        Path ruta = directorio.resolve(INDICE);
+
+        if (Files.isRegularFile(ruta)) {
+
+            try (InputStream entrada = Files.newInputStream(ruta)) {
+
+                indice.load(entrada);
+            }
+        }
+
+        return indice;
+    }
+
+    private static String nombreDelAlmacen(int generacion) {
+
+        return "fragmentos." + generacion + EXTENSION;
+    }
+
+    /* también los fragmentos sueltos de versiones anteriores de la cache */
+    private void eliminarAlmacenesSalvo(String vigente) throws IOException {
+
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*.{dat,fragmento}")) {
+
+            for (Path archivo : archivos) {
+
+                if (!archivo.getFileName().toString().equals(vigente)) {
+
+                    Files.delete(archivo);
+                }
+            }
+        }
+    }
+}
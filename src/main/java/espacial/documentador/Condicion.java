@@ -0,0 +1,57 @@
+package espacial.documentador;
+
+public class Condicion {
+
+    public enum Clase {
+
+        PRE, PARAMETRO, POST, RETORNO
+    }
+
+    private final Clase clase;
+
+    private final String nombre;
+
+    private final Texto texto;
+
+    private Condicion(Clase clase, String nombre, Texto texto) {
+
+        this.clase = clase;
+        this.nombre = nombre;
+        this.texto = texto;
+    }
+
+    public static Condicion pre(Texto texto) {
+
+        return new Condicion(Clase.PRE, null, texto);
+    }
+
+    public static Condicion parametro(String nombre, Texto texto) {
+
+        return new Condicion(Clase.PARAMETRO, nombre, texto);
+    }
+
+    public static Condicion post(Texto texto) {
+
+        return new Condicion(Clase.POST, null, texto);
+    }
+
+    public static Condicion retorno(Texto texto) {
+
+        return new Condicion(Clase.RETORNO, null, texto);
+    }
+
+    public Clase clase() {
+
+        return clase;
+    }
+
+    public String nombre() {
+
+        return nombre;
+    }
+
+    public Texto texto() {
+
+        return texto;
+    }
+}
@@ -1,255 +1,519 @@
 package espacial.documentador;
 
-import java.io.PrintStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-
-public class Documentacion {
-
-    private final PrintStream archivo;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class Documentacion implements Formato {
+
+    private static final int CAPACIDAD_SECCION = 8 * 1024;
+
+    private Salida archivo;
+
+    private final Piel piel;
+
+    private final Plantilla encabezado;
+    private final Plantilla estiloIncluido;
+    private final Plantilla estiloEnlazado;
+    private final Plantilla busqueda;
+    private final Plantilla busquedaEnlazada;
+    private final Plantilla busquedaIncluida;
+    private final Plantilla presentacion;
+    private final Plantilla encabezadoDePagina;
+    private final Plantilla navegacion;
+    private final Plantilla listaDeTipos;
+    private final Plantilla entrada;
+    private final Plantilla finListaDeTipos;
+    private final Plantilla pie;
+    private final Plantilla titulo;
+    private final Plantilla tipo;
+    private final Plantilla descripcion;
+    private final Plantilla constructores;
+    private final Plantilla metodos;
+    private final Plantilla operacion;
+    private final Plantilla finOperacion;
+    private final Plantilla heredados;
+    private final Plantilla operacionHeredada;
+    private final Plantilla condicion;
+    private final Plantilla parametro;
+    private final Plantilla valores;
+    private final Plantilla valor;
+    private final Plantilla finValores;
+    private final Plantilla codigo;
+    private final Plantilla enlace;
+    private final Plantilla enlaceACodigo;
+
+    private CacheDeFragmentos cache;
+
+    private Medicion medicion = new Medicion();
+
+    private boolean paginada;
+
+    /* fragmento de cada método heredado, por su ancla en el Tipo que lo declara: se comparte entre los subtipos */
+    private Map<String, byte[]> fragmentosHeredados = new ConcurrentHashMap<>();
+
+    private String hojaDeEstilo;
+
+    private Plantilla scriptsDeBusqueda;
+    private String indiceDeBusqueda;
+    private String buscador;
 
     private AtomicBoolean escribioUnConstructor = new AtomicBoolean();
     private AtomicBoolean escribioUnMetodo = new AtomicBoolean();
 
     public Documentacion(String ruta) {
 
-        archivo = abrirArchivo(ruta);
+        this(Salida.hacia(ruta));
     }
 
-    private void contenidoCon(String formato, Object... parametros) {
+    public Documentacion(Salida salida) {
+
+        this(salida, Piel.predeterminada());
+    }
+
+    /* sólo renderiza fragmentos hasta que usarSalida le indique el documento */
+    public Documentacion(Piel piel) {
+
+        this(null, piel);
+    }
 
-        archivo.printf(formato, parametros);
+    public Documentacion(Salida salida, Piel piel) {
+
+        archivo = salida;
+        this.piel = piel;
+
+        encabezado = piel.plantilla("encabezado", "estilo");
+        estiloIncluido = piel.plantilla("estilo-incluido", "estilo");
+        estiloEnlazado = piel.plantilla("estilo-enlazado", "estilo");
+        busqueda = piel.plantilla("busqueda");
+        busquedaEnlazada = piel.plantilla("busqueda-enlazada", "indice", "buscador");
+        busquedaIncluida = piel.plantilla("busqueda-incluida", "indice", "buscador");
+        presentacion = piel.plantilla("presentacion");
+        encabezadoDePagina = piel.plantilla("encabezado-pagina", "titulo", "estilo");
+        navegacion = piel.plantilla("navegacion", "indice");
+        listaDeTipos = piel.plantilla("lista-de-tipos");
+        entrada = piel.plantilla("entrada", "pagina", "nombre");
+        finListaDeTipos = piel.plantilla("fin-lista-de-tipos");
+        pie = piel.plantilla("pie");
+        titulo = piel.plantilla("titulo", "titulo");
+        tipo = piel.plantilla("tipo", "ancla", "nombre");
+        descripcion = piel.plantilla("descripcion", "texto");
+        constructores = piel.plantilla("constructores");
+        metodos = piel.plantilla("metodos");
+        operacion = piel.plantilla("operacion", "ancla", "codigo");
+        finOperacion = piel.plantilla("fin-operacion");
+        heredados = piel.plantilla("heredados", "destino", "tipo");
+        operacionHeredada = piel.plantilla("operacion-heredada", "codigo");
+        condicion = piel.plantilla("condicion", "tipo", "texto");
+        parametro = piel.plantilla("parametro", "nombre", "descripcion");
+        valores = piel.plantilla("valores");
+        valor = piel.plantilla("valor", "ancla", "valor");
+        finValores = piel.plantilla("fin-valores");
+        codigo = piel.plantilla("codigo", "codigo");
+        enlace = piel.plantilla("enlace", "destino", "texto");
+        enlaceACodigo = piel.plantilla("enlace-a-codigo", "destino", "texto");
     }
 
-    private void lineaCon(String formato, Object... parametro) {
+    public void medirCon(Medicion medicion) {
 
-        contenidoCon(formato + "%n", parametro);
+        this.medicion = medicion;
     }
 
-    private void lineaCon(String formato) {
+    public void usarSalida(Salida salida) {
 
-        archivo.println(formato);
+        archivo = salida;
     }
 
+    /* el documento no se publica: el anterior queda como estaba */
+    @Override
+    public void descartar() {
 
-    private void parrafoCon(String valor) {
+        if (archivo != null) {
 
-        lineaCon("<p>%s</p>", valor);
+            archivo.descartar();
+        }
     }
 
-    private void tituloCon(String valor) {
+    public void usarCache(CacheDeFragmentos cache) {
 
-        lineaCon("<h1>%s</h1>", valor);
+        this.cache = cache;
     }
 
-    private void subtituloCon(String valor) {
+    /* las páginas de un mismo conjunto renderizan una sola vez cada método heredado */
+    public void compartirHeredadosCon(Documentacion otra) {
 
-        lineaCon("<h3>%s</h3>", valor);
+        fragmentosHeredados = otra.fragmentosHeredados;
     }
 
-    private void seccionCon(String valor) {
+    /* los enlaces apuntan a la página de cada Tipo en lugar de a una sección del mismo documento */
+    public void enlazarEntrePaginas() {
 
-        lineaCon("<h4>%s</h4>", valor);
+        paginada = true;
     }
 
-    private void codigoCon(String valor) {
+    /* sin hoja de estilo enlazada el estilo se incluye en el documento */
+    public void enlazarEstilo(String hojaDeEstilo) {
 
-        lineaCon("<pre><code>%s</code></pre>", valor);
+        this.hojaDeEstilo = hojaDeEstilo;
     }
 
-    private void operacionCon(String valor) {
+    public void enlazarBusqueda(String indice, String buscador) {
 
-        inicioFila();
-        lineaCon("<div class=\"one column\">&nbsp;</div>");
-        lineaCon("<div class=\"eleven columns\">");
-        codigoCon(valor);
-        lineaCon("</div>");
-        finFila();
+        usarBusqueda(busquedaEnlazada, indice, buscador);
     }
 
-    private void condicionCon(String tipo, String texto) {
+    public void incluirBusqueda(String indice, String buscador) {
 
-        inicioFila();
-        lineaCon("<div class=\"two columns\">&nbsp;</div>");
-        lineaCon("<div class=\"two columns\">%s</div>", tipo);
-        lineaCon("<div class=\"eight columns\">%s</div>", texto);
-        finFila();
+        usarBusqueda(busquedaIncluida, indice, buscador);
     }
 
-    private void separador() {
+    private void usarBusqueda(Plantilla scripts, String indice, String buscador) {
 
-        lineaCon("<hr></hr>");
+        scriptsDeBusqueda = scripts;
+        indiceDeBusqueda = indice;
+        this.buscador = buscador;
     }
 
-    private String resaltando(String valor) {
+    public void escribirEncabezado() {
 
-        return String.format("<strong>%s</strong>", valor);
+        encabezado.componerEn(archivo, this::escribirEstilo);
+        escribirBusqueda();
+        presentacion.escribirEn(archivo);
     }
 
-    private void inicioPanel() {
+    private void escribirBusqueda() {
 
-        lineaCon("<div class=\"container\">");
+        if (scriptsDeBusqueda != null) {
+
+            busqueda.escribirEn(archivo);
+        }
     }
 
-    private void finPanel() {
+    private void escribirEstilo(Salida salida) {
+
+        if (hojaDeEstilo == null) {
+
+            estiloIncluido.escribirEn(salida, piel.estilo());
+
+        } else {
 
-        lineaCon("</div>");
+            estiloEnlazado.escribirEn(salida, hojaDeEstilo);
+        }
     }
 
-    private void inicioFila() {
+    public void escribirPie() {
+
+        if (scriptsDeBusqueda != null) {
 
-        lineaCon("<div class=\"row\">");
+            scriptsDeBusqueda.escribirEn(archivo, indiceDeBusqueda, buscador);
+        }
+
+        pie.escribirEn(archivo);
     }
 
-    private void finFila() {
+    public void terminar() {
 
-        finPanel();
+        archivo.cerrar();
     }
 
-    public void escribirEncabezado() {
+    public void escribirTitulo(String texto) {
 
-        lineaCon("<!DOCTYPE html>");
-        lineaCon("<html lang=\"es\">");
-        lineaCon("<head>");
-        lineaCon("<meta content=\"text/html; charset=UTF-8\" http-equiv=\"content-type\"/>");
-        lineaCon("<style type=\"text/css\">");
-
-        lineaCon("/*! normalize.css v3.0.2 | MIT License | git.io/normalize */html{font-family:sans-serif;-ms-text-size-adjust:100%;-webkit-text-size-adjust:100%}body{margin:0}article,aside,details,figcaption,figure,footer,header,hgroup,main,menu,nav,section,summary{display:block}audio,canvas,progress,video{display:inline-block;vertical-align:baseline}audio:not([controls]){display:none;height:0}[hidden],template{display:none}a{background-color:transparent}a:active,a:hover{outline:0}abbr[title]{border-bottom:1px dotted}b,strong{font-weight:700}dfn{font-style:italic}h1{font-size:2em;margin:.67em 0}mark{background:#ff0;color:#000}small{font-size:80%}sub,sup{font-size:75%;line-height:0;position:relative;vertical-align:baseline}sup{top:-.5em}sub{bottom:-.25em}img{border:0}svg:not(:root){overflow:hidden}figure{margin:1em 40px}hr{-moz-box-sizing:content-box;box-sizing:content-box;height:0}pre{overflow:auto}code,kbd,pre,samp{font-family:monospace,monospace;font-size:1em}button,input,optgroup,select,textarea{color:inherit;font:inherit;margin:0}button{overflow:visible}button,select{text-transform:none}button,html input[type=button],input[type=reset],input[type=submit]{-webkit-appearance:button;cursor:pointer}button[disabled],html input[disabled]{cursor:default}button::-moz-focus-inner,input::-moz-focus-inner{border:0;padding:0}input{line-height:normal}input[type=checkbox],input[type=radio]{box-sizing:border-box;padding:0}input[type=number]::-webkit-inner-spin-button,input[type=number]::-webkit-outer-spin-button{height:auto}input[type=search]{-webkit-appearance:textfield;-moz-box-sizing:content-box;-webkit-box-sizing:content-box;box-sizing:content-box}input[type=search]::-webkit-search-cancel-button,input[type=search]::-webkit-search-decoration{-webkit-appearance:none}fieldset{border:1px solid silver;margin:0 2px;padding:.35em .625em .75em}legend{border:0;padding:0}textarea{overflow:auto}optgroup{font-weight:700}table{border-collapse:collapse;border-spacing:0}td,th{padding:0}.container{position:relative;width:100%;max-width:960px;margin:0 auto;padding:0 20px;box-sizing:border-box}.column,.columns{width:100%;float:left;box-sizing:border-box}@media (min-width:400px){.container{width:85%;padding:0}}@media (min-width:550px){.container{width:80%}.column,.columns{margin-left:4%}.column:first-child,.columns:first-child{margin-left:0}.one.column,.one.columns{width:4.66666666667%}.two.columns{width:13.3333333333%}.three.columns{width:22%}.four.columns{width:30.6666666667%}.five.columns{width:39.3333333333%}.six.columns{width:48%}.seven.columns{width:56.6666666667%}.eight.columns{width:65.3333333333%}.nine.columns{width:74%}.ten.columns{width:82.6666666667%}.eleven.columns{width:91.3333333333%}.twelve.columns{width:100%;margin-left:0}.one-third.column{width:30.6666666667%}.two-thirds.column{width:65.3333333333%}.one-half.column{width:48%}.offset-by-one.column,.offset-by-one.columns{margin-left:8.66666666667%}.offset-by-two.column,.offset-by-two.columns{margin-left:17.3333333333%}.offset-by-three.column,.offset-by-three.columns{margin-left:26%}.offset-by-four.column,.offset-by-four.columns{margin-left:34.6666666667%}.offset-by-five.column,.offset-by-five.columns{margin-left:43.3333333333%}.offset-by-six.column,.offset-by-six.columns{margin-left:52%}.offset-by-seven.column,.offset-by-seven.columns{margin-left:60.6666666667%}.offset-by-eight.column,.offset-by-eight.columns{margin-left:69.3333333333%}.offset-by-nine.column,.offset-by-nine.columns{margin-left:78%}.offset-by-ten.column,.offset-by-ten.columns{margin-left:86.6666666667%}.offset-by-eleven.column,.offset-by-eleven.columns{margin-left:95.3333333333%}.offset-by-one-third.column,.offset-by-one-third.columns{margin-left:34.6666666667%}.offset-by-two-thirds.column,.offset-by-two-thirds.columns{margin-left:69.3333333333%}.offset-by-one-half.column,.offset-by-one-half.columns{margin-left:52%}}html{font-size:62.5%}body{font-size:1.5em;line-height:1.6;font-weight:400;font-family:Raleway,HelveticaNeue,\"Helvetica Neue\",Helvetica,Arial,sans-serif;color:#222}h1,h2,h3,h4,h5,h6{margin-top:0;margin-bottom:2rem;font-weight:300}h1{font-size:4rem;line-height:1.2;letter-spacing:-.1rem}h2{font-size:3.6rem;line-height:1.25;letter-spacing:-.1rem}h3{font-size:3rem;line-height:1.3;letter-spacing:-.1rem}h4{font-size:2.4rem;line-height:1.35;letter-spacing:-.08rem}h5{font-size:1.8rem;line-height:1.5;letter-spacing:-.05rem}h6{font-size:1.5rem;line-height:1.6;letter-spacing:0}@media (min-width:550px){h1{font-size:5rem}h2{font-size:4.2rem}h3{font-size:3.6rem}h4{font-size:3rem}h5{font-size:2.4rem}h6{font-size:1.5rem}}p{margin-top:0}a{color:#1eaedb}a:hover{color:#0fa0ce}.button,button,input[type=button],input[type=reset],input[type=submit]{display:inline-block;height:38px;padding:0 30px;color:#555;text-align:center;font-size:11px;font-weight:600;line-height:38px;letter-spacing:.1rem;text-transform:uppercase;text-decoration:none;white-space:nowrap;background-color:transparent;border-radius:4px;border:1px solid #bbb;cursor:pointer;box-sizing:border-box}.button:focus,.button:hover,button:focus,button:hover,input[type=button]:focus,input[type=button]:hover,input[type=reset]:focus,input[type=reset]:hover,input[type=submit]:focus,input[type=submit]:hover{color:#333;border-color:#888;outline:0}.button.button-primary,button.button-primary,input[type=button].button-primary,input[type=reset].button-primary,input[type=submit].button-primary{color:#fff;background-color:#33c3f0;border-color:#33c3f0}.button.button-primary:focus,.button.button-primary:hover,button.button-primary:focus,button.button-primary:hover,input[type=button].button-primary:focus,input[type=button].button-primary:hover,input[type=reset].button-primary:focus,input[type=reset].button-primary:hover,input[type=submit].button-primary:focus,input[type=submit].button-primary:hover{color:#fff;background-color:#1eaedb;border-color:#1eaedb}input[type=email],input[type=number],input[type=password],input[type=search],input[type=tel],input[type=text],input[type=url],select,textarea{height:38px;padding:6px 10px;background-color:#fff;border:1px solid #d1d1d1;border-radius:4px;box-shadow:none;box-sizing:border-box}input[type=email],input[type=number],input[type=password],input[type=search],input[type=tel],input[type=text],input[type=url],textarea{-webkit-appearance:none;-moz-appearance:none;appearance:none}textarea{min-height:65px;padding-top:6px;padding-bottom:6px}input[type=email]:focus,input[type=number]:focus,input[type=password]:focus,input[type=search]:focus,input[type=tel]:focus,input[type=text]:focus,input[type=url]:focus,select:focus,textarea:focus{border:1px solid #33c3f0;outline:0}label,legend{display:block;margin-bottom:.5rem;font-weight:600}fieldset{padding:0;border-width:0}input[type=checkbox],input[type=radio]{display:inline}label>.label-body{display:inline-block;margin-left:.5rem;font-weight:400}ul{list-style:circle inside}ol{list-style:decimal inside}ol,ul{padding-left:0;margin-top:0}ol ol,ol ul,ul ol,ul ul{margin:1.5rem 0 1.5rem 3rem;font-size:90%}li{margin-bottom:1rem}code{padding:.2rem .5rem;margin:0 .2rem;font-size:90%;white-space:nowrap;background:#f1f1f1;border:1px solid #e1e1e1;border-radius:4px}pre>code{display:block;padding:1rem 1.5rem;white-space:pre}td,th{padding:12px 15px;text-align:left;border-bottom:1px solid #e1e1e1}td:first-child,th:first-child{padding-left:0}td:last-child,th:last-child{padding-right:0}.button,button{margin-bottom:1rem}fieldset,input,select,textarea{margin-bottom:1.5rem}blockquote,dl,figure,form,ol,p,pre,table,ul{margin-bottom:2.5rem}.u-full-width{width:100%;box-sizing:border-box}.u-max-full-width{max-width:100%;box-sizing:border-box}.u-pull-right{float:right}.u-pull-left{float:left}hr{margin-top:3rem;margin-bottom:3.5rem;border-width:0;border-top:1px solid #e1e1e1}.container:after,.row:after,.u-cf{content:\"\";display:table;clear:both}");
-
-        lineaCon("</style>");
-        lineaCon("</head>");
-        lineaCon("<body>");
-        inicioPanel();
-
-        tituloCon("Documentación");
-        parrafoCon("Para describir cada uno de los Tipos de datos se utilizará la siguiente estructura:");
-        separador();
-
-        inicioPanel();
-        subtituloCon("Tipo");
-        parrafoCon("Nombre del Tipo de dato.");
-        seccionCon("Descripción");
-        parrafoCon("Propósito del Tipo. Rol que cumple dentro de la Batalla Espacial.");
-        seccionCon("Valores");
-        parrafoCon("Valores posibles para aquellos tipos que son enumerados.");
-        seccionCon("Constructores");
-        parrafoCon("Lista de todos los constructores disponibles para crear objetos de ese Tipo.");
-        parrafoCon("Se indica el Tipo de los valores que recibe como parámetro.");
-        seccionCon("Métodos");
-        parrafoCon("Lista de todos los métodos disponibles para ese Tipo.");
-        parrafoCon("Se indica el Tipo de valor que retorna, el nombre del método y los Tipos de valores que recibe como parámetro.");
-        parrafoCon("Se utiliza la palabra “<strong>void</strong>” para aquellos métodos que no devuelven ningún valor (void se puede traducir como vacío)");
-        parrafoCon("Además se indican la pre y post-condición de cada método.");
-        parrafoCon("La <strong>pre-condición</strong> (si la tiene) es lo que debo cumplir antes de invocarlo.");
-        parrafoCon("La <strong>post-condición</strong> es lo que se cumple luego de ejecutarlo.");
-        finPanel();
+        titulo.escribirEn(archivo, texto);
     }
 
-    public void escribirPie() {
+    public void escribirTipo(String nombre) {
+
+        tipo.escribirEn(archivo, nombre, nombre);
+
+        escribioUnConstructor.set(false);
+        escribioUnMetodo.set(false);
+    }
 
-        finPanel();
-        lineaCon("</body>");
+    public void escribirDescripcion(Texto texto) {
+
+        descripcion.componerEn(archivo, contenidoDe(texto));
     }
 
-    private PrintStream abrirArchivo(String conRuta) {
+    public void escribirConstructor(String ancla, String codigo) {
 
-        try {
+        if (!escribioUnConstructor.getAndSet(true)) {
 
-            Path ruta = Paths.get(conRuta);
-            Files.createDirectories(ruta.getParent());
+            constructores.escribirEn(archivo);
+        }
 
-            return new PrintStream(Files.newOutputStream(ruta,
-                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE));
+        operacion.escribirEn(archivo, ancla, codigo);
+    }
 
-        } catch (Exception e) {
+    public void escribirMetodo(String ancla, String codigo) {
 
-            throw new RuntimeException(String.format("No fue posible abrir el archivo '%s'", conRuta), e);
+        if (!escribioUnMetodo.getAndSet(true)) {
+
+            metodos.escribirEn(archivo);
         }
+
+        operacion.escribirEn(archivo, ancla, codigo);
     }
 
-    public void terminar() {
+    public void escribirHeredados(String tipo) {
 
-        archivo.close();
+        heredados.escribirEn(archivo, referenciaA(tipo, tipo), tipo);
     }
 
-    public void escribirTitulo(String titulo) {
+    public void escribirMetodoHeredado(String codigo) {
 
-        tituloCon(titulo);
+        operacionHeredada.escribirEn(archivo, codigo);
     }
 
-    public void escribirTipo(String nombre) {
+    public void escribirPre(Texto texto) {
 
-        separador();
-        subtituloCon("Tipo");
-        codigoCon(nombre);
+        escribirCondicion("pre", texto);
+    }
 
-        escribioUnConstructor.set(false);
-        escribioUnMetodo.set(false);
+    public void escribirPost(Texto texto) {
+
+        escribirCondicion("post", texto);
     }
 
-    public void escribirDescripcion(String texto) {
+    public void escribirRetorno(Texto texto) {
 
-        seccionCon("Descripción");
-        parrafoCon(texto);
+        escribirCondicion("return", texto);
     }
 
-    public void escribirConstructor(String codigo) {
+    private void escribirCondicion(String clase, Texto texto) {
 
-        if (!escribioUnConstructor.getAndSet(true)) {
+        condicion.componerEn(archivo, salida -> salida.escribirTextoHtml(clase), contenidoDe(texto));
+    }
+
+    public void escribirParametro(String nombre, Texto descripcion) {
+
+        parametro.componerEn(archivo, salida -> salida.escribirTextoHtml(nombre), contenidoDe(descripcion));
+    }
+
+    public void escribirValoresEnumerados(String tipo, List<String> valores) {
+
+        this.valores.escribirEn(archivo);
+
+        for (String unValor : valores) {
 
-            seccionCon("Constructores");
+            valor.escribirEn(archivo, Tipo.anclaDe(tipo, unValor), unValor);
         }
 
-        operacionCon(codigo);
+        finValores.escribirEn(archivo);
     }
 
-    public void escribirMetodo(String codigo) {
+    private Plantilla.Hueco contenidoDe(Texto texto) {
 
-        if (!escribioUnMetodo.getAndSet(true)) {
+        return salida -> {
+
+            for (Fragmento fragmento : texto.fragmentos()) {
+
+                switch (fragmento.clase()) {
+
+                    case TEXTO:
+                        salida.escribirTextoHtml(fragmento.contenido());
+                        break;
+
+                    case CODIGO:
+                        codigo.escribirEn(salida, fragmento.contenido());
+                        break;
+
+                    case ENLACE:
+                        enlace.escribirEn(salida, referenciaA(fragmento), fragmento.contenido());
+                        break;
+
+                    case ENLACE_A_CODIGO:
+                        enlaceACodigo.escribirEn(salida, referenciaA(fragmento), fragmento.contenido());
+                        break;
+                }
+            }
+        };
+    }
+
+    private String referenciaA(Fragmento fragmento) {
+
+        return referenciaA(fragmento.destino(), fragmento.ancla());
+    }
+
+    private String referenciaA(String destino, String ancla) {
+
+        return paginada ? Paginas.paginaDe(destino) + "#" + ancla : "#" + ancla;
+    }
+
+    @Override
+    public void escribirDocumento(List<Tipo> tipos) {
+
+        medicion.medir("html.encabezado", this::escribirEncabezado);
+        medicion.medir("html.tipos", () -> escribirTipos(tipos));
+        medicion.medir("html.pie", this::escribirPie);
+        medicion.medir("html.terminar", this::terminar);
+    }
+
+    /* los Tipos ya fueron renderizados en el volcado, en orden de prioridad */
+    public void escribirDocumento(Volcado volcado) {
+
+        medicion.medir("html.encabezado", this::escribirEncabezado);
+        medicion.medir("html.tipos", () -> volcado.transferirA(archivo));
+        medicion.medir("html.pie", this::escribirPie);
+        medicion.medir("html.terminar", this::terminar);
+    }
+
+    public void escribirPagina(String indice, Tipo unTipo) {
+
+        encabezadoDePagina.componerEn(archivo, salida -> salida.escribirTextoHtml(unTipo.nombre()), this::escribirEstilo);
+        navegacion.escribirEn(archivo, indice);
+        escribirBusqueda();
+        archivo.escribir(fragmentoDe(unTipo));
+        escribirPie();
+        terminar();
+    }
+
+    public void escribirIndice(List<Tipo> tipos) {
+
+        encabezadoDePagina.componerEn(archivo, salida -> salida.escribirTextoHtml("Documentación"), this::escribirEstilo);
+        escribirBusqueda();
+        presentacion.escribirEn(archivo);
+        listaDeTipos.escribirEn(archivo);
+
+        for (Tipo unTipo : tipos) {
+
+            entrada.escribirEn(archivo, Paginas.paginaDe(unTipo.nombre()), unTipo.nombre());
+        }
+
+        finListaDeTipos.escribirEn(archivo);
+        escribirPie();
+        terminar();
+    }
+
+    public void escribirTipos(List<Tipo> tipos) {
+
+        if (cache != null) {
+
+            transferirTipos(tipos);
+
+            return;
+        }
 
-            seccionCon("Métodos");
+        List<CompletableFuture<byte[]>> pendientes = tipos.stream()
+                .map(unTipo -> CompletableFuture.supplyAsync(() -> fragmentoDe(unTipo)))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<byte[]> pendiente : pendientes) {
+
+            archivo.escribir(pendiente.join());
+        }
+    }
+
+    /* con la cache los fragmentos no pasan por el heap: van del almacén al documento */
+    private void transferirTipos(List<Tipo> tipos) {
+
+        List<CompletableFuture<String>> pendientes = tipos.stream()
+                .map(unTipo -> CompletableFuture.supplyAsync(() -> cache.preparar(unTipo, this::renderizar)))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<String> pendiente : pendientes) {
+
+            cache.transferirA(archivo, pendiente.join());
         }
+    }
 
-        operacionCon(codigo);
+    public byte[] fragmentoDe(Tipo unTipo) {
+
+        return cache == null ? renderizar(unTipo) : cache.obtener(unTipo, this::renderizar);
     }
 
-    public void escribirPre(String texto) {
+    private byte[] renderizar(Tipo unTipo) {
 
-        condicionCon(resaltando("pre"), texto);
+        return renderizarCon(documentacion -> documentacion.escribir(unTipo));
     }
 
-    public void escribirPost(String texto) {
+    private byte[] renderizarCon(Consumer<Documentacion> escribir) {
+
+        ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+        Documentacion documentacion = new Documentacion(new Salida(Channels.newChannel(contenido), CAPACIDAD_SECCION), piel);
+        documentacion.paginada = paginada;
+        documentacion.fragmentosHeredados = fragmentosHeredados;
 
-        condicionCon(resaltando("post"), texto);
+        escribir.accept(documentacion);
+        documentacion.terminar();
+
+        return contenido.toByteArray();
     }
 
-    public void escribirRetorno(String texto) {
+    private byte[] fragmentoHeredado(String tipo, Operacion metodo) {
+
+        return fragmentosHeredados.computeIfAbsent(Tipo.anclaDe(tipo, metodo.ancla()), ancla -> renderizarCon(documentacion -> {
 
-        condicionCon(resaltando("return"), texto);
+            documentacion.escribirMetodoHeredado(metodo.firma());
+            documentacion.escribirContrato(metodo.contrato());
+        }));
     }
 
-    public void escribirParametro(String nombre, String descripcion) {
+    public void escribir(Tipo unTipo) {
+
+        escribirTipo(unTipo.nombre());
+        escribirDescripcion(unTipo.descripcion());
 
-        condicionCon(resaltando("param"), nombre + ": " + descripcion);
+        if (unTipo.esEnumerado()) {
+
+            escribirValoresEnumerados(unTipo.nombre(), unTipo.valores());
+
+        } else {
+
+            for (Operacion constructor : unTipo.constructores()) {
+
+                escribirConstructor(Tipo.anclaDe(unTipo.nombre(), constructor.ancla()), constructor.firma());
+                escribirContrato(constructor.contrato());
+            }
+
+            for (Operacion metodo : unTipo.metodos()) {
+
+                escribirMetodo(Tipo.anclaDe(unTipo.nombre(), metodo.ancla()), metodo.firma());
+                escribirContrato(metodo.contrato());
+            }
+
+            for (Herencia herencia : unTipo.heredados()) {
+
+                escribirHeredados(herencia.tipo());
+
+                for (Operacion metodo : herencia.metodos()) {
+
+                    archivo.escribir(fragmentoHeredado(herencia.tipo(), metodo));
+                }
+            }
+        }
     }
 
-    public void escribirValoresEnumerados(List<String> valores) {
+    private void escribirContrato(List<Condicion> contrato) {
+
+        for (Condicion unaCondicion : contrato) {
+
+            switch (unaCondicion.clase()) {
+
+                case PRE:
+                    escribirPre(unaCondicion.texto());
+                    break;
 
-        seccionCon("Valores");
-        inicioFila();
-        lineaCon("<div class=\"six columns\">");
+                case PARAMETRO:
+                    escribirParametro(unaCondicion.nombre(), unaCondicion.texto());
+                    break;
 
-        for (String valor : valores) {
+                case POST:
+                    escribirPost(unaCondicion.texto());
+                    break;
 
-            codigoCon(valor);
+                case RETORNO:
+                    escribirRetorno(unaCondicion.texto());
+                    break;
+            }
         }
 
-        lineaCon("</div>");
-        lineaCon("<div class=\"six columns\">&nbsp;</div>");
-        finFila();
+        /* cierra lo que la plantilla de la operación haya abierto para agrupar su contrato */
+        finOperacion.escribirEn(archivo);
     }
 }
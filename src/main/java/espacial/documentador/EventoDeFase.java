@@ -0,0 +1,23 @@
+package espacial.documentador;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/* sólo se registra si hay una grabación de JFR en curso: -J-XX:StartFlightRecording=filename=documentador.jfr */
+@Name("espacial.documentador.Fase")
+@Label("Fase del documentador")
+@Category("Documentador Espacial")
+@Description("Una fase de la generación de la documentación")
+class EventoDeFase extends Event {
+
+    @Label("Fase")
+    String fase;
+
+    @Label("Memoria asignada")
+    @DataAmount
+    long asignados;
+}
@@ -0,0 +1,13 @@
+package espacial.documentador;
+
+import java.util.List;
+
+public interface Formato {
+
+    void escribirDocumento(List<Tipo> tipos);
+
+    /* si no pudo terminar, el documento no se publica: el anterior queda como estaba */
+    default void descartar() {
+
+    }
+}
@@ -0,0 +1,64 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/* escribe el mismo modelo en varios formatos a la vez, cada uno en su propio archivo */
+public class Formatos implements Formato {
+
+    private final List<Formato> formatos;
+
+    public Formatos(List<Formato> formatos) {
+
+        this.formatos = new ArrayList<>(formatos);
+    }
+
+    @Override
+    public void escribirDocumento(List<Tipo> tipos) {
+
+        if (formatos.isEmpty()) {
+
+            return;
+        }
+
+        List<CompletableFuture<Void>> pendientes = formatos.stream()
+                .skip(1)
+                .map(formato -> CompletableFuture.runAsync(() -> escribir(formato, tipos)))
+                .collect(Collectors.toList());
+
+        try {
+
+            escribir(formatos.get(0), tipos);
+
+        } catch (RuntimeException e) {
+
+            /* los demás terminan o se descartan antes de propagar la falla: ninguno queda escribiendo a medias */
+            pendientes.forEach(pendiente -> pendiente.exceptionally(falla -> null).join());
+            throw e;
+        }
+
+        pendientes.forEach(CompletableFuture::join);
+    }
+
+    /* los formatos ya abiertos que no terminan */
+    @Override
+    public void descartar() {
+
+        formatos.forEach(Formato::descartar);
+    }
+
+    private static void escribir(Formato formato, List<Tipo> tipos) {
+
+        try {
+
+            formato.escribirDocumento(tipos);
+
+        } catch (RuntimeException e) {
+
+            formato.descartar();
+            throw e;
+        }
+    }
+}
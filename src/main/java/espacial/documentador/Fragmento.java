@@ -0,0 +1,66 @@
+package espacial.documentador;
+
+public class Fragmento {
+
+    public enum Clase {
+
+        TEXTO, CODIGO, ENLACE, ENLACE_A_CODIGO
+    }
+
+    private final Clase clase;
+
+    private final String contenido;
+
+    private final String destino;
+
+    private final String ancla;
+
+    private Fragmento(Clase clase, String contenido, String destino, String ancla) {
+
+        this.clase = clase;
+        this.contenido = contenido;
+        this.destino = destino;
+        this.ancla = ancla;
+    }
+
+    public static Fragmento texto(String contenido) {
+
+        return new Fragmento(Clase.TEXTO, contenido, null, null);
+    }
+
+    public static Fragmento codigo(String contenido) {
+
+        return new Fragmento(Clase.CODIGO, contenido, null, null);
+    }
+
+    public static Fragmento enlace(String contenido, String destino, String ancla) {
+
+        return new Fragmento(Clase.ENLACE, contenido, destino, ancla);
+    }
+
+    public static Fragmento enlaceACodigo(String contenido, String destino, String ancla) {
+
+        return new Fragmento(Clase.ENLACE_A_CODIGO, contenido, destino, ancla);
+    }
+
+    public Clase clase() {
+
+        return clase;
+    }
+
+    public String contenido() {
+
+        return contenido;
+    }
+
+    /* nombre del Tipo en el que está documentado lo enlazado */
+    public String destino() {
+
+        return destino;
+    }
+
+    public String ancla() {
+
+        return ancla;
+    }
+}
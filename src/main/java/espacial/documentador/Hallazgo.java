@@ -0,0 +1,97 @@
+package espacial.documentador;
+
+import java.util.Locale;
+
+/* un problema en el contrato de un Tipo o de uno de sus miembros, encontrado por la Revision */
+public class Hallazgo {
+
+    public enum Severidad {
+
+        ERROR, ADVERTENCIA
+    }
+
+    private final Severidad severidad;
+
+    private final String regla;
+
+    private final String tipo;
+
+    private final String miembro;
+
+    private final String mensaje;
+
+    private Hallazgo(Severidad severidad, String regla, String tipo, String miembro, String mensaje) {
+
+        this.severidad = severidad;
+        this.regla = regla;
+        this.tipo = tipo;
+        this.miembro = miembro;
+        this.mensaje = mensaje;
+    }
+
+    public static Hallazgo error(String regla, String tipo, String miembro, String mensaje) {
+
+        return new Hallazgo(Severidad.ERROR, regla, tipo, miembro, mensaje);
+    }
+
+    public static Hallazgo advertencia(String regla, String tipo, String miembro, String mensaje) {
+
+        return new Hallazgo(Severidad.ADVERTENCIA, regla, tipo, miembro, mensaje);
+    }
+
+    public Severidad severidad() {
+
+        return severidad;
+    }
+
+    public boolean esError() {
+
+        return severidad == Severidad.ERROR;
+    }
+
+    public String regla() {
+
+        return regla;
+    }
+
+    public String tipo() {
+
+        return tipo;
+    }
+
+    /* el ancla de la operación dentro del Tipo, o null si el hallazgo es del Tipo */
+    public String miembro() {
+
+        return miembro;
+    }
+
+    public String mensaje() {
+
+        return mensaje;
+    }
+
+    StringBuilder agregarComoJson(StringBuilder json) {
+
+        json.append("{\"severidad\":");
+        Json.agregarCadena(json, severidad.name().toLowerCase(Locale.ROOT)).append(",\"regla\":");
+        Json.agregarCadena(json, regla).append(",\"tipo\":");
+        Json.agregarCadena(json, tipo).append(",\"miembro\":");
+
+        if (miembro == null) {
+
+            json.append("null");
+
+        } else {
+
+            Json.agregarCadena(json, miembro);
+        }
+
+        return Json.agregarCadena(json.append(",\"mensaje\":"), mensaje).append('}');
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("%s%s: %s [%s]", tipo, miembro == null ? "" : "." + miembro, mensaje, regla);
+    }
+}
@@ -0,0 +1,29 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* los métodos que un Tipo hereda de uno de sus ancestros: son las mismas Operaciones que documenta el ancestro */
+public class Herencia {
+
+    private final String tipo;
+
+    private final List<Operacion> metodos;
+
+    public Herencia(String tipo, List<Operacion> metodos) {
+
+        this.tipo = tipo;
+        this.metodos = Collections.unmodifiableList(new ArrayList<>(metodos));
+    }
+
+    public String tipo() {
+
+        return tipo;
+    }
+
+    public List<Operacion> metodos() {
+
+        return metodos;
+    }
+}
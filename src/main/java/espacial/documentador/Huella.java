@@ -0,0 +1,69 @@
+package espacial.documentador;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class Huella {
+
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest resumen;
+
+    public Huella() {
+
+        try {
+
+            resumen = MessageDigest.getInstance("SHA-256");
+
+        } catch (NoSuchAlgorithmException e) {
+
+            throw new IllegalStateException("La plataforma no provee SHA-256", e);
+        }
+    }
+
+    public Huella agregar(String valor) {
+
+        if (valor == null) {
+
+            return agregar(-1);
+        }
+
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        agregar(bytes.length);
+        resumen.update(bytes);
+
+        return this;
+    }
+
+    public Huella agregar(int valor) {
+
+        resumen.update((byte) (valor >>> 24));
+        resumen.update((byte) (valor >>> 16));
+        resumen.update((byte) (valor >>> 8));
+        resumen.update((byte) valor);
+
+        return this;
+    }
+
+    public Huella agregar(byte[] bytes, int desde, int cantidad) {
+
+        resumen.update(bytes, desde, cantidad);
+
+        return this;
+    }
+
+    public String calcular() {
+
+        byte[] bytes = resumen.digest();
+        char[] texto = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+
+            texto[i * 2] = HEXADECIMAL[(bytes[i] >> 4) & 0xF];
+            texto[i * 2 + 1] = HEXADECIMAL[bytes[i] & 0xF];
+        }
+
+        return new String(texto);
+    }
+}
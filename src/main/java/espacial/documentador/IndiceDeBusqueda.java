@@ -0,0 +1,247 @@
+package espacial.documentador;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/*
+ * entradas: Tipos, constructores, métodos y valores, identificados por su ancla
+ * palabras: vocabulario en minúsculas, cada una con las entradas que la contienen
+ * gramas: prefijos de una y dos letras y trigramas, cada uno con las palabras que lo contienen
+ */
+public class IndiceDeBusqueda {
+
+    private final List<String> entradas = new ArrayList<>();
+
+    private final Map<String, List<Integer>> palabras = new LinkedHashMap<>();
+
+    private final Map<String, List<Integer>> gramas = new TreeMap<>();
+
+    private IndiceDeBusqueda() {
+
+    }
+
+    public static IndiceDeBusqueda vacio() {
+
+        return new IndiceDeBusqueda();
+    }
+
+    public static IndiceDeBusqueda de(List<Tipo> tipos) {
+
+        IndiceDeBusqueda indice = new IndiceDeBusqueda();
+
+        for (Tipo tipo : tipos) {
+
+            indice.agregar(tipo);
+        }
+
+        return indice;
+    }
+
+    public void agregar(Tipo tipo) {
+
+        agregar('t', tipo.ancla(), tipo.nombre());
+
+        for (String valor : tipo.valores()) {
+
+            agregar('v', Tipo.anclaDe(tipo.nombre(), valor), valor);
+        }
+
+        for (Operacion constructor : tipo.constructores()) {
+
+            agregar('c', tipo, constructor);
+        }
+
+        for (Operacion metodo : tipo.metodos()) {
+
+            agregar('m', tipo, metodo);
+        }
+    }
+
+    public int entradas() {
+
+        return entradas.size();
+    }
+
+    public int palabras() {
+
+        return palabras.size();
+    }
+
+    public String publicarEn(Path directorio, boolean paginada, Publicaciones publicaciones) {
+
+        return Salida.publicar(directorio, "busqueda", ".js", comoScript(paginada), publicaciones);
+    }
+
+    public String comoScript(boolean paginada) {
+
+        StringBuilder script = new StringBuilder("var indiceDeBusqueda = {\"paginas\":").append(paginada);
+
+        script.append(",\"e\":[");
+
+        for (int i = 0; i < entradas.size(); i++) {
+
+            Json.agregarCadena(script.append(i > 0 ? "," : ""), entradas.get(i));
+        }
+
+        script.append("],\"p\":[");
+
+        int numero = 0;
+
+        for (String palabra : palabras.keySet()) {
+
+            Json.agregarCadena(script.append(numero++ > 0 ? "," : ""), palabra);
+        }
+
+        script.append("],\"w\":[");
+
+        numero = 0;
+
+        for (List<Integer> conEntradas : palabras.values()) {
+
+            agregarDiferencias(script.append(numero++ > 0 ? "," : ""), conEntradas);
+        }
+
+        script.append("],\"g\":{");
+
+        numero = 0;
+
+        for (Map.Entry<String, List<Integer>> grama : gramas.entrySet()) {
+
+            Json.agregarCadena(script.append(numero++ > 0 ? "," : ""), grama.getKey()).append(':');
+            agregarDiferencias(script, grama.getValue());
+        }
+
+        return script.append("}};").toString();
+    }
+
+    private void agregar(char clase, Tipo tipo, Operacion operacion) {
+
+        String[] identificadores = new String[operacion.parametros().size() + 1];
+        identificadores[0] = operacion.nombre();
+
+        for (int i = 0; i < operacion.parametros().size(); i++) {
+
+            identificadores[i + 1] = operacion.parametros().get(i).tipo();
+        }
+
+        agregar(clase, Tipo.anclaDe(tipo.nombre(), operacion.ancla()), identificadores);
+    }
+
+    private void agregar(char clase, String ancla, String... identificadores) {
+
+        int entrada = entradas.size();
+        entradas.add(clase + ancla);
+
+        for (String identificador : identificadores) {
+
+            for (String palabra : palabrasDe(identificador)) {
+
+                List<Integer> conEntradas = palabras.get(palabra);
+
+                if (conEntradas == null) {
+
+                    conEntradas = new ArrayList<>();
+                    palabras.put(palabra, conEntradas);
+                    agregarGramas(palabra, palabras.size() - 1);
+                }
+
+                /* las entradas se agregan en orden: basta con no repetir la última */
+                if (conEntradas.isEmpty() || conEntradas.get(conEntradas.size() - 1) != entrada) {
+
+                    conEntradas.add(entrada);
+                }
+            }
+        }
+    }
+
+    private void agregarGramas(String palabra, int numero) {
+
+        Set<String> deLaPalabra = new LinkedHashSet<>();
+
+        for (int longitud = 1; longitud <= 2 && longitud <= palabra.length(); longitud++) {
+
+            deLaPalabra.add(palabra.substring(0, longitud));
+        }
+
+        for (int i = 0; i + 3 <= palabra.length(); i++) {
+
+            deLaPalabra.add(palabra.substring(i, i + 3));
+        }
+
+        for (String grama : deLaPalabra) {
+
+            gramas.computeIfAbsent(grama, nuevo -> new ArrayList<>()).add(numero);
+        }
+    }
+
+    /* el identificador completo y sus partes: cargarDesdeEste, cargar, desde y este */
+    static Set<String> palabrasDe(String identificador) {
+
+        Set<String> palabras = new LinkedHashSet<>();
+        StringBuilder completo = new StringBuilder();
+        StringBuilder parte = new StringBuilder();
+
+        for (int i = 0; i < identificador.length(); i++) {
+
+            char caracter = identificador.charAt(i);
+
+            if (!Character.isLetterOrDigit(caracter)) {
+
+                agregarPalabra(palabras, parte);
+
+                if (caracter == '_') {
+
+                    completo.append(caracter);
+
+                } else {
+
+                    agregarPalabra(palabras, completo);
+                }
+
+                continue;
+            }
+
+            if (Character.isUpperCase(caracter) && parte.length() > 0
+                    && !Character.isUpperCase(parte.charAt(parte.length() - 1))) {
+
+                agregarPalabra(palabras, parte);
+            }
+
+            parte.append(caracter);
+            completo.append(caracter);
+        }
+
+        agregarPalabra(palabras, parte);
+        agregarPalabra(palabras, completo);
+
+        return palabras;
+    }
+
+    private static void agregarPalabra(Set<String> palabras, StringBuilder palabra) {
+
+        if (palabra.length() > 0) {
+
+            palabras.add(palabra.toString().toLowerCase(Locale.ROOT));
+            palabra.setLength(0);
+        }
+    }
+
+    private static StringBuilder agregarDiferencias(StringBuilder script, List<Integer> numeros) {
+
+        script.append('[');
+
+        for (int i = 0; i < numeros.size(); i++) {
+
+            script.append(i > 0 ? "," : "").append(i > 0 ? numeros.get(i) - numeros.get(i - 1) : numeros.get(i));
+        }
+
+        return script.append(']');
+    }
+}
@@ -0,0 +1,347 @@
+package espacial.documentador;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/* formato: MAGIA, VERSION, tabla de textos y luego los tipos con referencias a esa tabla */
+public class Instantanea {
+
+    private static final int MAGIA = 0x444F4345;
+
+    private static final int VERSION = 3;
+
+    private static final int NINGUNO = -1;
+
+    private final Map<String, Integer> textos = new LinkedHashMap<>();
+
+    private final DataOutputStream cuerpo;
+
+    private Instantanea(OutputStream destino) {
+
+        cuerpo = new DataOutputStream(destino);
+    }
+
+    public static void guardar(List<Tipo> tipos, Path ruta) {
+
+        try {
+
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            Instantanea instantanea = new Instantanea(contenido);
+            instantanea.escribirTipos(tipos);
+
+            Path directorio = ruta.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+
+            /* se escribe aparte y se mueve al final: un corte a mitad de camino no deja una instantánea truncada */
+            Path temporal = Files.createTempFile(directorio, "." + ruta.getFileName(), ".tmp");
+
+            try (DataOutputStream archivo = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+
+                archivo.writeInt(MAGIA);
+                archivo.writeInt(VERSION);
+                archivo.writeInt(instantanea.textos.size());
+
+                for (String texto : instantanea.textos.keySet()) {
+
+                    byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                    archivo.writeInt(bytes.length);
+                    archivo.write(bytes);
+                }
+
+                contenido.writeTo(archivo);
+
+            } catch (IOException | RuntimeException e) {
+
+                Files.deleteIfExists(temporal);
+                throw e;
+            }
+
+            Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible guardar la instantánea '%s'", ruta), e);
+        }
+    }
+
+    public static List<Tipo> leer(Path ruta) {
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+
+            return new Lector(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size())).leerTipos();
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible leer la instantánea '%s'", ruta), e);
+        }
+    }
+
+    private void escribirTipos(List<Tipo> tipos) throws IOException {
+
+        cuerpo.writeInt(tipos.size());
+
+        for (Tipo tipo : tipos) {
+
+            escribirTexto(tipo.nombre());
+            escribirTexto(tipo.prioridad());
+            escribirTexto(tipo.descripcion());
+            cuerpo.writeBoolean(tipo.esEnumerado());
+
+            cuerpo.writeInt(tipo.valores().size());
+
+            for (String valor : tipo.valores()) {
+
+                escribirTexto(valor);
+            }
+
+            escribirOperaciones(tipo.constructores());
+            escribirOperaciones(tipo.metodos());
+
+            cuerpo.writeInt(tipo.heredados().size());
+
+            for (Herencia herencia : tipo.heredados()) {
+
+                escribirTexto(herencia.tipo());
+                escribirOperaciones(herencia.metodos());
+            }
+        }
+    }
+
+    private void escribirOperaciones(List<Operacion> operaciones) throws IOException {
+
+        cuerpo.writeInt(operaciones.size());
+
+        for (Operacion operacion : operaciones) {
+
+            escribirTexto(operacion.retorno());
+            escribirTexto(operacion.nombre());
+
+            cuerpo.writeInt(operacion.parametros().size());
+
+            for (Parametro parametro : operacion.parametros()) {
+
+                escribirTexto(parametro.tipo());
+                escribirTexto(parametro.nombre());
+            }
+
+            cuerpo.writeInt(operacion.contrato().size());
+
+            for (Condicion condicion : operacion.contrato()) {
+
+                cuerpo.writeByte(condicion.clase().ordinal());
+                escribirTexto(condicion.nombre());
+                escribirTexto(condicion.texto());
+            }
+        }
+    }
+
+    private void escribirTexto(Texto texto) throws IOException {
+
+        cuerpo.writeInt(texto.fragmentos().size());
+
+        for (Fragmento fragmento : texto.fragmentos()) {
+
+            cuerpo.writeByte(fragmento.clase().ordinal());
+            escribirTexto(fragmento.contenido());
+            escribirTexto(fragmento.destino());
+            escribirTexto(fragmento.ancla());
+        }
+    }
+
+    private void escribirTexto(String texto) throws IOException {
+
+        cuerpo.writeInt(texto == null ? NINGUNO : textos.computeIfAbsent(texto, nuevo -> textos.size()));
+    }
+
+    private static class Lector {
+
+        private final ByteBuffer contenido;
+
+        private String[] textos;
+
+        Lector(ByteBuffer contenido) {
+
+            this.contenido = contenido;
+        }
+
+        List<Tipo> leerTipos() {
+
+            if (contenido.getInt() != MAGIA) {
+
+                throw new IllegalArgumentException("El archivo no es una instantánea del documentador");
+            }
+
+            int version = contenido.getInt();
+
+            if (version != VERSION) {
+
+                throw new IllegalArgumentException(
+                        String.format("La instantánea tiene la versión %d y se esperaba la %d", version, VERSION));
+            }
+
+            leerTextos();
+
+            int cantidad = contenido.getInt();
+            List<Tipo> tipos = new ArrayList<>(cantidad);
+
+            for (int i = 0; i < cantidad; i++) {
+
+                tipos.add(leerTipo());
+            }
+
+            return tipos;
+        }
+
+        private void leerTextos() {
+
+            textos = new String[contenido.getInt()];
+
+            for (int i = 0; i < textos.length; i++) {
+
+                byte[] bytes = new byte[contenido.getInt()];
+                contenido.get(bytes);
+                textos[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        private Tipo leerTipo() {
+
+            String nombre = leerTexto();
+            String prioridad = leerTexto();
+            Texto descripcion = leerTextoConFragmentos();
+            boolean enumerado = contenido.get() != 0;
+
+            List<String> valores = new ArrayList<>();
+            int cantidad = contenido.getInt();
+
+            for (int i = 0; i < cantidad; i++) {
+
+                valores.add(leerTexto());
+            }
+
+            List<Operacion> constructores = leerOperaciones();
+            List<Operacion> metodos = leerOperaciones();
+
+            int cantidadDeHerencias = contenido.getInt();
+            List<Herencia> heredados = new ArrayList<>(cantidadDeHerencias);
+
+            for (int i = 0; i < cantidadDeHerencias; i++) {
+
+                heredados.add(new Herencia(leerTexto(), leerOperaciones()));
+            }
+
+            return enumerado
+                    ? Tipo.enumerado(nombre, prioridad, descripcion, valores)
+                    : Tipo.clase(nombre, prioridad, descripcion, constructores, metodos, heredados);
+        }
+
+        private List<Operacion> leerOperaciones() {
+
+            int cantidad = contenido.getInt();
+            List<Operacion> operaciones = new ArrayList<>(cantidad);
+
+            for (int i = 0; i < cantidad; i++) {
+
+                String retorno = leerTexto();
+                String nombre = leerTexto();
+
+                int cantidadDeParametros = contenido.getInt();
+                List<Parametro> parametros = new ArrayList<>(cantidadDeParametros);
+
+                for (int j = 0; j < cantidadDeParametros; j++) {
+
+                    parametros.add(new Parametro(leerTexto(), leerTexto()));
+                }
+
+                int cantidadDeCondiciones = contenido.getInt();
+                List<Condicion> contrato = new ArrayList<>(cantidadDeCondiciones);
+
+                for (int j = 0; j < cantidadDeCondiciones; j++) {
+
+                    contrato.add(leerCondicion());
+                }
+
+                operaciones.add(retorno == null
+                        ? Operacion.constructor(nombre, parametros, contrato)
+                        : Operacion.metodo(retorno, nombre, parametros, contrato));
+            }
+
+            return operaciones;
+        }
+
+        private Condicion leerCondicion() {
+
+            Condicion.Clase clase = Condicion.Clase.values()[contenido.get()];
+            String nombre = leerTexto();
+            Texto texto = leerTextoConFragmentos();
+
+            switch (clase) {
+
+                case PRE:
+                    return Condicion.pre(texto);
+
+                case PARAMETRO:
+                    return Condicion.parametro(nombre, texto);
+
+                case POST:
+                    return Condicion.post(texto);
+
+                default:
+                    return Condicion.retorno(texto);
+            }
+        }
+
+        private Texto leerTextoConFragmentos() {
+
+            int cantidad = contenido.getInt();
+            List<Fragmento> fragmentos = new ArrayList<>(cantidad);
+
+            for (int i = 0; i < cantidad; i++) {
+
+                Fragmento.Clase clase = Fragmento.Clase.values()[contenido.get()];
+                fragmentos.add(leerFragmento(clase, leerTexto(), leerTexto(), leerTexto()));
+            }
+
+            return Texto.con(fragmentos);
+        }
+
+        private Fragmento leerFragmento(Fragmento.Clase clase, String contenido, String destino, String ancla) {
+
+            switch (clase) {
+
+                case CODIGO:
+                    return Fragmento.codigo(contenido);
+
+                case ENLACE:
+                    return Fragmento.enlace(contenido, destino, ancla);
+
+                case ENLACE_A_CODIGO:
+                    return Fragmento.enlaceACodigo(contenido, destino, ancla);
+
+                default:
+                    return Fragmento.texto(contenido);
+            }
+        }
+
+        private String leerTexto() {
+
+            int indice = contenido.getInt();
+
+            return indice == NINGUNO ? null : textos[indice];
+        }
+    }
+}
@@ -1,259 +1,1069 @@
 package espacial.documentador;
 
-import com.sun.javadoc.*;
-
+import com.sun.source.doctree.DocCommentTree;
+import com.sun.source.doctree.DocTree;
+import com.sun.source.doctree.EntityTree;
+import com.sun.source.doctree.LinkTree;
+import com.sun.source.doctree.LiteralTree;
+import com.sun.source.doctree.ParamTree;
+import com.sun.source.doctree.ReferenceTree;
+import com.sun.source.doctree.ReturnTree;
+import com.sun.source.doctree.UnknownBlockTagTree;
+import com.sun.source.util.DocTreePath;
+import com.sun.source.util.DocTrees;
+import jdk.javadoc.doclet.Doclet;
+import jdk.javadoc.doclet.DocletEnvironment;
+import jdk.javadoc.doclet.Reporter;
+
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.DocumentationTool;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JavaDoc implements Doclet {
+
+    private static final int CHANGED_LISTED = 10;
+
+    /* una extracción pedida desde el mismo proceso: javadoc corre en este hilo y el doclet entrega el modelo */
+    private static final ThreadLocal<Extraction> EXTRACTION = new ThreadLocal<>();
+
+    /* cuándo empezó la tarea de javadoc pedida desde el mismo proceso: hasta run() es el análisis de las fuentes */
+    private static final ThreadLocal<Long> TASK_STARTED = new ThreadLocal<>();
+
+    private final Opciones options = new Opciones();
+
+    private final Map<String, String> names = new HashMap<>();
+
+    /* firma de cada Tipo y miembro documentado (Nave#avanzar(Direccion)) con el ancla de su sección */
+    private final Map<String, String> anchors = new HashMap<>();
+
+    /* los Tipos documentados de los que hereda algún otro, reunidos al indexar */
+    private final Set<TypeElement> inheritedFrom = new HashSet<>();
+
+    /* métodos documentados de los Tipos de inheritedFrom: sus firmas y contratos se extraen una vez y los comparten sus descendientes */
+    private final Map<TypeElement, List<Operacion>> declaredMethods = new HashMap<>();
+
+    private Reporter reporter;
+
+    private DocletEnvironment environment;
 
-public class JavaDoc {
+    private DocTrees trees;
 
-    private final RootDoc root;
+    private CacheDeFragmentos fragments;
 
-    private final Documentacion documentacion;
+    private Medicion metrics;
 
-    private JavaDoc(RootDoc rootDoc) {
+    private Publicaciones published;
 
-        documentacion = new Documentacion("./contratos.html");
-        root = rootDoc;
+    private Piel skin;
+
+    @Override
+    public void init(Locale locale, Reporter reporter) {
+
+        this.reporter = reporter;
+        options.informarCon(reporter);
+    }
+
+    @Override
+    public String getName() {
+
+        return "DocumentadorEspacial";
+    }
+
+    @Override
+    public Set<? extends Option> getSupportedOptions() {
+
+        return options.soportadas();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latest();
     }
 
-    private String priorityOf(ClassDoc clazz) {
+    private String priorityOf(TypeElement clazz) {
 
-        Tag[] tags = clazz.tags("prioridad");
+        List<Texto> tags = tagsOf(clazz, "prioridad");
 
-        return tags.length > 0 ? tags[0].text() : "";
+        return tags.isEmpty() ? "" : tags.get(0).contenido();
     }
 
-    private int compareClass(ClassDoc class1, ClassDoc class2) {
+    private int compareClass(TypeElement class1, TypeElement class2) {
 
         return priorityOf(class1).compareTo(priorityOf(class2));
     }
 
-    private Set<ClassDoc> extractClasses() {
+    /* los de igual prioridad quedan en el orden en que los entrega javadoc, como en el volcado */
+    private List<TypeElement> extractClasses() {
+
+        List<TypeElement> classes = encounteredClasses();
+        classes.sort(this::compareClass);
+        return classes;
+    }
+
+    private List<Tipo> extract() {
+
+        List<TypeElement> classes = metrics.medir("seleccion", this::extractClasses);
+
+        metrics.medir("indice", () -> classes.forEach(this::indexSymbolsOf));
+
+        List<Tipo> types = metrics.medir("modelo", () -> classes.stream()
+                .filter(this::mustInclude)
+                .map(this::typeOf)
+                .collect(Collectors.toList()));
+
+        types.forEach(this::count);
+
+        return types;
+    }
+
+    private void count(Tipo type) {
+
+        long members = type.valores().size() + type.constructores().size() + type.metodos().size();
+        long tags = Stream.concat(type.constructores().stream(), type.metodos().stream())
+                .mapToLong(operation -> operation.contrato().size())
+                .sum();
+
+        metrics.contar("tipos", 1);
+        metrics.contar("miembros", members);
+        metrics.contar("etiquetas", tags);
+    }
+
+    /* las mismas firmas que indexSymbolsOf(TypeElement), para Tipos que no forman parte de esta ejecución */
+    private void indexSymbolsOf(Tipo type) {
+
+        anchors.put(type.nombre(), type.ancla());
+
+        for (String value : type.valores()) {
+            anchors.put(type.nombre() + "#" + value, Tipo.anclaDe(type.nombre(), value));
+        }
+
+        for (Operacion operation : type.constructores()) {
+            anchors.put(type.nombre() + "#" + operation.ancla(), Tipo.anclaDe(type.nombre(), operation.ancla()));
+        }
+
+        for (Operacion operation : type.metodos()) {
+            anchors.put(type.nombre() + "#" + operation.ancla(), Tipo.anclaDe(type.nombre(), operation.ancla()));
+        }
+    }
+
+    private void indexSymbolsOf(TypeElement clazz) {
+
+        anchors.put(signatureOf(clazz), nameOf(clazz));
+
+        if (isEnum(clazz)) {
+
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+
+                if (mustInclude(field)) {
+                    indexSymbol(field);
+                }
+            }
+
+        } else {
+
+            inheritedFrom.addAll(ancestorsOf(clazz));
+
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+
+                if (mustIncludeConstructor(constructor)) {
+                    indexSymbol(constructor);
+                }
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+
+                if (mustIncludeMethod(method)) {
+                    indexSymbol(method);
+                }
+            }
+        }
+    }
+
+    private void indexSymbol(Element member) {
+
+        anchors.put(signatureOf(member), Tipo.anclaDe(nameOf(member.getEnclosingElement()), memberNameOf(member)));
+    }
+
+    private String signatureOf(Element element) {
+
+        if (element instanceof TypeElement) {
+
+            return nameOf(element);
+        }
+
+        if (element instanceof ExecutableElement || element instanceof VariableElement) {
+
+            return nameOf(element.getEnclosingElement()) + "#" + memberNameOf(element);
+        }
+
+        return null;
+    }
+
+    private String memberNameOf(Element member) {
+
+        if (member instanceof ExecutableElement) {
+
+            String name = member.getKind() == ElementKind.CONSTRUCTOR ? nameOf(member.getEnclosingElement()) : nameOf(member);
+
+            return Operacion.ancla(name, paramsOf((ExecutableElement) member));
+        }
+
+        return nameOf(member);
+    }
+
+    /* una sola extracción alimenta a todos los formatos pedidos, que se escriben a la vez */
+    private void write(List<Tipo> types) {
+
+        Set<String> formats = options.formatos();
+        List<Formato> writers = new ArrayList<>();
+
+        try {
+
+            if (formats.contains(Opciones.HTML)) {
+
+                writers.add(measured("escritura.html", htmlOf(skin, types)));
+            }
+
+            if (formats.contains(Opciones.MARKDOWN)) {
+
+                writers.add(measured("escritura.markdown", new Markdown(Salida.hacia(options.salidaCon(".md").toString(), published))));
+            }
 
-        Set<ClassDoc> classes = new TreeSet<>(this::compareClass);
-        for (ClassDoc clazz : root.classes()) {
+            if (formats.contains(Opciones.JSON)) {
+
+                writers.add(measured("escritura.json", new Json(Salida.hacia(options.salidaCon(".json").toString(), published))));
+            }
+
+        } catch (RuntimeException e) {
+
+            /* los documentos ya abiertos no se publican si no pudo abrirse otro */
+            writers.forEach(Formato::descartar);
+            throw e;
+        }
+
+        new Formatos(writers).escribirDocumento(types);
+
+        if (fragments != null) {
+
+            report(fragments);
+        }
+    }
+
+    private Formato measured(String phase, Formato format) {
+
+        return new Formato() {
+
+            @Override
+            public void escribirDocumento(List<Tipo> types) {
+
+                metrics.medir(phase, () -> format.escribirDocumento(types));
+            }
+
+            @Override
+            public void descartar() {
+
+                format.descartar();
+            }
+        };
+    }
+
+    private Formato htmlOf(Piel skin, List<Tipo> types) {
+
+        Optional<Path> pagesDirectory = options.paginas();
+
+        if (pagesDirectory.isPresent()) {
+
+            Paginas pages = new Paginas(pagesDirectory.get(), skin, published);
+
+            if (options.estiloIncluido()) {
+                pages.incluirEstilo();
+            }
+
+            /* las páginas enlazan entre sí: sus fragmentos no sirven para el documento único */
+            fragments = options.cache().map(directory -> CacheDeFragmentos.en(directory.resolve("paginas"), skin)).orElse(null);
+
+            if (fragments != null) {
+                pages.usarCache(fragments);
+            }
+
+            return pages;
+        }
+
+        /* los recursos se publican antes de abrir el documento: si fallan, no queda nada a medias */
+        Documentacion documentacion = rendererOf(skin);
+        attachResources(documentacion, skin, IndiceDeBusqueda.de(types));
+        documentacion.usarSalida(openDocument());
+
+        return documentacion;
+    }
+
+    private Salida openDocument() {
+
+        return Salida.hacia(options.salida().toString(), published);
+    }
+
+    /* todavía sin abrir el documento: con -volcado los fragmentos se renderizan antes de saber si la revisión lo permite */
+    private Documentacion rendererOf(Piel skin) {
+
+        Documentacion documentacion = new Documentacion(skin);
+        documentacion.medirCon(metrics);
+
+        fragments = options.cache().map(directory -> CacheDeFragmentos.en(directory, skin)).orElse(null);
+
+        if (fragments != null) {
+            documentacion.usarCache(fragments);
+        }
+
+        return documentacion;
+    }
+
+    private void attachResources(Documentacion documentacion, Piel skin, IndiceDeBusqueda search) {
+
+        if (options.estiloIncluido()) {
+
+            documentacion.incluirBusqueda(search.comoScript(false), skin.buscador());
+
+        } else {
+
+            Path directory = options.salida().toAbsolutePath().getParent();
+
+            documentacion.enlazarEstilo(skin.publicarEstiloEn(directory, published));
+            documentacion.enlazarBusqueda(search.publicarEn(directory, false, published), skin.publicarBuscadorEn(directory, published));
+        }
+    }
+
+    /*
+     * cada Tipo se renderiza apenas se extrae y sólo su fragmento sobrevive, en el volcado de su prioridad:
+     * en memoria quedan las anclas, el índice de búsqueda y los métodos de los Tipos de los que otros heredan,
+     * no el modelo ni el HTML
+     */
+    private boolean stream(Path spillDirectory) {
+
+        List<TypeElement> classes = metrics.medir("seleccion", this::encounteredClasses);
+
+        metrics.medir("indice", () -> classes.forEach(this::indexSymbolsOf));
+
+        Documentacion documentacion = rendererOf(skin);
+        IndiceDeBusqueda search = IndiceDeBusqueda.vacio();
+        Volcado spill = new Volcado(spillDirectory);
+        Revision review = new Revision();
+
+        try {
+
+            metrics.medir("volcado", () -> {
+
+                for (TypeElement clazz : classes) {
+
+                    Tipo type = typeOf(clazz);
+
+                    count(type);
+                    search.agregar(type);
+                    spill.agregar(type.prioridad(), documentacion.fragmentoDe(type));
+
+                    if (options.revisado()) {
+                        review.agregar(type);
+                    }
+                }
+            });
+
+            if (options.revisado() && !passes(review)) {
+
+                return false;
+            }
+
+            documentacion.usarSalida(openDocument());
+
+            try {
+
+                attachResources(documentacion, skin, search);
+                documentacion.escribirDocumento(spill);
+
+            } catch (RuntimeException e) {
+
+                documentacion.descartar();
+
+                throw e;
+            }
+
+        } finally {
+
+            spill.borrar();
+        }
+
+        reporter.print(Diagnostic.Kind.NOTE, String.format("Volcado: %d Tipos en %d archivos (%d KB), memoria: hasta %d MB más que al empezar",
+                spill.fragmentos(), spill.archivos(), spill.bytes() / 1024, spill.memoriaMaxima() / (1024 * 1024)));
+
+        if (fragments != null) {
+
+            report(fragments);
+        }
+
+        return true;
+    }
+
+    /* los mismos Tipos que extractClasses, en el orden en que los entrega javadoc */
+    private List<TypeElement> encounteredClasses() {
+
+        List<TypeElement> classes = new ArrayList<>();
+
+        for (TypeElement clazz : ElementFilter.typesIn(environment.getIncludedElements())) {
             if (mustInclude(clazz)) {
                 classes.add(clazz);
             }
         }
+
         return classes;
     }
 
-    private void execute() {
+    /* con -revision estricta, un hallazgo de severidad error impide escribir la documentación */
+    private boolean passes(Revision review) {
 
-        documentacion.escribirEncabezado();
+        List<Hallazgo> findings = review.hallazgos();
+        long errors = findings.stream().filter(Hallazgo::esError).count();
+        boolean strict = options.revisionEstricta();
 
-        for (ClassDoc clazz : extractClasses()) {
+        for (Hallazgo finding : findings) {
 
-            if (mustInclude(clazz)) {
+            reporter.print(strict && finding.esError() ? Diagnostic.Kind.ERROR : Diagnostic.Kind.WARNING, finding.toString());
+        }
+
+        review.escribirEn(Salida.hacia(options.salidaCon(".revision.json").toString()));
 
-                includeType(clazz);
+        metrics.contar("hallazgos.errores", errors);
+        metrics.contar("hallazgos.advertencias", findings.size() - errors);
 
-                includeDescription(clazz);
+        reporter.print(Diagnostic.Kind.NOTE, String.format("Revisión de contratos: %d errores, %d advertencias",
+                errors, findings.size() - errors));
 
-                if (isEnum(clazz)) {
+        return !strict || errors == 0;
+    }
 
-                    includeEnumValues(clazz);
+    private void report(CacheDeFragmentos fragments) {
+
+        fragments.guardar();
+        reporter.print(Diagnostic.Kind.NOTE, String.format("Tipos reutilizados de la cache: %d, renderizados: %d%s",
+                fragments.reutilizados(), fragments.renderizados(), fragments.compactada() ? " (almacén compactado)" : ""));
+    }
 
-                } else {
+    /* los documentos idénticos a los anteriores no se reemplazaron */
+    private void finishPublishing() {
 
-                    includeClass(clazz);
+        if (published.comprimidas()) {
+
+            metrics.medir("manifiesto", published::escribirManifiestos);
+        }
+
+        List<Path> changed = published.modificadas();
+
+        metrics.contar("documentosModificados", changed.size());
+        metrics.contar("documentosSinCambios", published.sinCambios());
+        metrics.escribio(published.escritos());
+
+        String names = changed.stream().map(document -> document.getFileName().toString())
+                .sorted().limit(CHANGED_LISTED).collect(Collectors.joining(", "));
+
+        reporter.print(Diagnostic.Kind.NOTE, String.format("Documentos modificados: %d de %d%s", changed.size(), published.total(),
+                changed.isEmpty() ? "" : " (" + names + (changed.size() > CHANGED_LISTED ? ", ..." : "") + ")"));
+
+        /* las páginas comparten sus recursos: el índice los enlaza en nombre de todas */
+        int pruned = published.podarRecursos(options.paginas().isPresent() ? Paginas.INDICE
+                : options.salida().getFileName().toString());
+
+        if (pruned > 0) {
+
+            reporter.print(Diagnostic.Kind.NOTE, String.format("Versiones anteriores de la hoja de estilo y la búsqueda borradas: %d", pruned));
+        }
+    }
+
+    private Tipo typeOf(TypeElement clazz) {
+
+        if (isEnum(clazz)) {
+
+            return Tipo.enumerado(nameOf(clazz), priorityOf(clazz), descriptionOf(clazz), valuesOf(clazz));
+        }
+
+        List<Operacion> methods = methodsOf(clazz);
+
+        return Tipo.clase(nameOf(clazz), priorityOf(clazz), descriptionOf(clazz), constructorsOf(clazz), methods,
+                inheritedOf(clazz, methods));
+    }
+
+    private List<Herencia> inheritedOf(TypeElement clazz, List<Operacion> declared) {
+
+        List<Herencia> inherited = new ArrayList<>();
+        Set<String> overridden = new HashSet<>();
+
+        declared.forEach(method -> overridden.add(method.ancla()));
+
+        for (TypeElement ancestor : ancestorsOf(clazz)) {
+
+            List<Operacion> methods = new ArrayList<>();
+
+            for (Operacion method : methodsOf(ancestor)) {
+
+                if (overridden.add(method.ancla())) {
+                    methods.add(method);
                 }
             }
+
+            if (!methods.isEmpty()) {
+                inherited.add(new Herencia(nameOf(ancestor), methods));
+            }
         }
 
-        documentacion.escribirPie();
-        documentacion.terminar();
+        return inherited;
     }
 
-    private void includeType(ClassDoc clazz) {
+    /* primero las superclases, de la más cercana a la más lejana, y después sus interfaces; sólo los Tipos documentados */
+    private List<TypeElement> ancestorsOf(TypeElement clazz) {
+
+        List<TypeElement> ancestors = new ArrayList<>();
+
+        for (TypeElement type = typeElementOf(clazz.getSuperclass()); type != null; type = typeElementOf(type.getSuperclass())) {
+            ancestors.add(type);
+        }
+
+        List<TypeElement> pending = new ArrayList<>(ancestors);
+        pending.add(0, clazz);
+
+        for (int i = 0; i < pending.size(); i++) {
 
-        documentacion.escribirTipo(typeOf(clazz));
+            for (TypeMirror implemented : pending.get(i).getInterfaces()) {
+
+                TypeElement type = typeElementOf(implemented);
+
+                if (type != null && !pending.contains(type)) {
+                    pending.add(type);
+                    ancestors.add(type);
+                }
+            }
+        }
+
+        ancestors.removeIf(ancestor -> !mustInclude(ancestor));
+
+        return ancestors;
     }
 
-    private void includeDescription(ClassDoc clazz) {
+    private TypeElement typeElementOf(TypeMirror type) {
 
-        documentacion.escribirDescripcion(descriptionOf(clazz));
+        return type instanceof DeclaredType ? (TypeElement) ((DeclaredType) type).asElement() : null;
     }
 
-    private void includeEnumValues(ClassDoc clazz) {
+    private List<String> valuesOf(TypeElement clazz) {
 
-        List<String> values = new LinkedList<>();
+        List<String> values = new ArrayList<>();
 
-        for (FieldDoc field : clazz.fields()) {
+        for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
 
             if (mustInclude(field)) {
-                values.add(field.name());
+                values.add(field.getSimpleName().toString());
             }
         }
 
-        documentacion.escribirValoresEnumerados(values);
+        return values;
     }
 
-    private String typeOf(ClassDoc clazz) {
+    private String nameOf(Element element) {
 
-        return clazz.simpleTypeName();
+        return intern(element.getSimpleName().toString());
     }
 
-    private boolean mustInclude(FieldDoc field) {
-        
-        return field.isStatic() && field.isPublic();
+    private String intern(String name) {
+
+        return names.computeIfAbsent(name, value -> value);
     }
 
-    private boolean isEnum(ClassDoc clazz) {
+    private boolean mustInclude(VariableElement field) {
 
-        /* por alguna razón el método isEnum siempre devuelve false*/
-        return Enum.class.getName().equals(clazz.superclass().qualifiedName());
+        return field.getModifiers().contains(Modifier.STATIC) && field.getModifiers().contains(Modifier.PUBLIC);
     }
 
-    private void includeClass(ClassDoc clazz) {
+    private boolean isEnum(TypeElement clazz) {
 
-        for (ConstructorDoc constructor : clazz.constructors()) {
+        return clazz.getKind() == ElementKind.ENUM;
+    }
 
-            includeConstructor(constructor);
+    private List<Operacion> constructorsOf(TypeElement clazz) {
+
+        List<Operacion> constructors = new ArrayList<>();
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+
+            if (mustIncludeConstructor(constructor)) {
+
+                constructors.add(Operacion.constructor(nameOf(clazz), paramsOf(constructor), contractOf(constructor)));
+            }
         }
-        for (MethodDoc method : clazz.methods()) {
 
-            includeMethod(method);
+        return constructors;
+    }
+
+    /* los de un Tipo del que nadie hereda se piden una sola vez, al extraerlo: no hace falta retenerlos */
+    private List<Operacion> methodsOf(TypeElement clazz) {
+
+        if (!inheritedFrom.contains(clazz)) {
+
+            return declaredMethodsOf(clazz);
         }
+
+        return declaredMethods.computeIfAbsent(clazz, this::declaredMethodsOf);
     }
 
-    private void includeConstructor(ConstructorDoc constructor) {
+    private List<Operacion> declaredMethodsOf(TypeElement clazz) {
+
+        List<Operacion> methods = new ArrayList<>();
 
-        if (mustInclude(constructor)) {
+        for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
 
-            documentacion.escribirConstructor(format("%s(%s)", nameOf(constructor), paramsOf(constructor)));
+            if (mustIncludeMethod(method)) {
 
-            includeContract(constructor);
+                methods.add(Operacion.metodo(returnOf(method), nameOf(method), paramsOf(method), contractOf(method)));
+            }
         }
+
+        return methods;
+    }
+
+    private boolean mustIncludeConstructor(ExecutableElement constructor) {
+
+        return constructor.getModifiers().contains(Modifier.PUBLIC);
     }
 
-    private String format(String format, Object... args) {
+    private boolean mustIncludeMethod(ExecutableElement method) {
+
+        Set<Modifier> modifiers = method.getModifiers();
 
-        return String.format(format, args);
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+                && !"toString".equals(method.getSimpleName().toString());
     }
 
-    private boolean mustInclude(ConstructorDoc constructor) {
+    private boolean mustInclude(TypeElement clazz) {
 
-        return constructor.isPublic();
+        return clazz.getModifiers().contains(Modifier.PUBLIC)
+                && environment.getElementUtils().getPackageOf(clazz).isUnnamed();
     }
 
-    private String nameOf(ConstructorDoc constructor) {
+    private List<Condicion> contractOf(ExecutableElement executable) {
+
+        List<Condicion> contract = new ArrayList<>();
+
+        includePre(contract, executable);
+        includeParams(contract, executable);
+        includePost(contract, executable);
+        includeReturn(contract, executable);
+
+        return contract;
+    }
+
+    private void includePre(List<Condicion> contract, ExecutableElement executable) {
+
+        for (Texto tag : tagsOf(executable, "pre")) {
+
+            contract.add(Condicion.pre(tag));
+        }
+    }
+
+    private void includeParams(List<Condicion> contract, ExecutableElement executable) {
+
+        for (DocTree tag : blockTagsOf(executable)) {
 
-        return constructor.name();
+            if (tag.getKind() == DocTree.Kind.PARAM && !((ParamTree) tag).isTypeParameter()) {
+
+                ParamTree paramTag = (ParamTree) tag;
+                contract.add(Condicion.parametro(paramTag.getName().getName().toString(), textOf(executable, paramTag.getDescription())));
+            }
+        }
     }
 
-    private String paramsOf(ConstructorDoc constructor) {
+    private void includePost(List<Condicion> contract, ExecutableElement executable) {
 
-        return definitionOf(constructor.parameters());
+        for (Texto tag : tagsOf(executable, "post")) {
+
+            contract.add(Condicion.post(tag));
+        }
     }
 
-    private void includeMethod(MethodDoc method) {
+    private void includeReturn(List<Condicion> contract, ExecutableElement executable) {
 
-        if (mustInclude(method)) {
+        for (DocTree tag : blockTagsOf(executable)) {
 
-            documentacion.escribirMetodo(format("%s %s(%s)", returnOf(method), nameOf(method), paramsOf(method)));
+            if (tag.getKind() == DocTree.Kind.RETURN) {
 
-            includeContract(method);
+                contract.add(Condicion.retorno(textOf(executable, ((ReturnTree) tag).getDescription())));
+            }
         }
     }
 
-    private boolean mustInclude(MethodDoc method) {
+    private Texto descriptionOf(TypeElement clazz) {
 
-        return method.isPublic() && ! method.isStatic() && !"toString".equals(method.name());
+        DocCommentTree comment = trees.getDocCommentTree(clazz);
+
+        return comment == null ? Texto.vacio() : textOf(clazz, comment.getFullBody());
     }
 
-    private boolean mustInclude(ClassDoc clazz) {
+    private List<? extends DocTree> blockTagsOf(Element element) {
+
+        DocCommentTree comment = trees.getDocCommentTree(element);
 
-        return clazz.isPublic() && "".equals(clazz.containingPackage().name());
+        return comment == null ? Collections.emptyList() : comment.getBlockTags();
     }
 
-    private void includeContract(ExecutableMemberDoc executable) {
+    private List<Texto> tagsOf(Element element, String name) {
+
+        List<Texto> tags = new ArrayList<>();
 
-        includePre(executable);
-        includeParams(executable);
-        includePost(executable);
-        includeReturn(executable);
+        for (DocTree tag : blockTagsOf(element)) {
+
+            if (tag.getKind() == DocTree.Kind.UNKNOWN_BLOCK_TAG && name.equals(((UnknownBlockTagTree) tag).getTagName())) {
+
+                tags.add(textOf(element, ((UnknownBlockTagTree) tag).getContent()));
+            }
+        }
+
+        return tags;
     }
 
-    private void includePre(ExecutableMemberDoc executable) {
+    private Texto textOf(Element element, List<? extends DocTree> content) {
+
+        List<Fragmento> fragments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+
+        for (DocTree tree : content) {
+
+            switch (tree.getKind()) {
+
+                case CODE:
+                    includeText(fragments, text);
+                    fragments.add(Fragmento.codigo(((LiteralTree) tree).getBody().getBody()));
+                    break;
 
-        for (Tag tag: executable.tags("pre")) {
+                case LINK:
+                case LINK_PLAIN:
+                    includeText(fragments, text);
+                    fragments.add(linkOf(element, (LinkTree) tree));
+                    break;
 
-            documentacion.escribirPre(valueOf(tag));
+                case LITERAL:
+                    text.append(((LiteralTree) tree).getBody().getBody());
+                    break;
+
+                case ENTITY:
+                    text.append(characterOf((EntityTree) tree));
+                    break;
+
+                default:
+                    text.append(tree);
+            }
         }
+
+        includeText(fragments, text);
+
+        return Texto.con(fragments);
     }
 
-    private void includeParams(ExecutableMemberDoc executable) {
+    private void includeText(List<Fragmento> fragments, StringBuilder text) {
 
-        for (ParamTag paramTag: executable.paramTags()) {
+        if (text.length() > 0) {
 
-            documentacion.escribirParametro(paramTag.parameterName(), paramTag.parameterComment());
+            fragments.add(Fragmento.texto(text.toString()));
+            text.setLength(0);
         }
     }
 
-    private void includePost(ExecutableMemberDoc executable) {
+    private Fragmento linkOf(Element element, LinkTree link) {
 
-        for (Tag tag: executable.tags("post")) {
+        ReferenceTree reference = link.getReference();
+        String label = link.getLabel().isEmpty() ? labelOf(reference) : textOf(element, link.getLabel()).contenido().trim();
+        boolean plain = link.getKind() == DocTree.Kind.LINK_PLAIN;
 
-            documentacion.escribirPost(valueOf(tag));
+        Element target = trees.getElement(DocTreePath.getPath(trees.getPath(element), trees.getDocCommentTree(element), reference));
+        String anchor = target == null ? null : anchors.get(signatureOf(target));
+
+        if (anchor == null) {
+
+            return plain ? Fragmento.texto(label) : Fragmento.codigo(label);
         }
+
+        String destination = nameOf(target instanceof TypeElement ? target : target.getEnclosingElement());
+
+        return plain ? Fragmento.enlace(label, destination, anchor) : Fragmento.enlaceACodigo(label, destination, anchor);
+    }
+
+    private String labelOf(ReferenceTree reference) {
+
+        String signature = reference.getSignature();
+
+        return (signature.startsWith("#") ? signature.substring(1) : signature).replace('#', '.');
     }
 
-    private void includeReturn(ExecutableMemberDoc executable) {
+    private String characterOf(EntityTree entity) {
+
+        String name = entity.getName().toString();
+
+        switch (name) {
+
+            case "lt":
+                return "<";
+
+            case "gt":
+                return ">";
 
-        for (Tag tag: executable.tags("return")) {
+            case "amp":
+                return "&";
 
-            documentacion.escribirRetorno(valueOf(tag));
+            case "quot":
+                return "\"";
+
+            case "apos":
+                return "'";
+
+            case "nbsp":
+                return "\u00A0";
+
+            default:
+                if (name.startsWith("#x") || name.startsWith("#X")) {
+
+                    return new String(Character.toChars(Integer.parseInt(name.substring(2), 16)));
+                }
+
+                if (name.startsWith("#")) {
+
+                    return new String(Character.toChars(Integer.parseInt(name.substring(1))));
+                }
+
+                return "&" + name + ";";
         }
     }
 
-    private String descriptionOf(ClassDoc clazz) {
+    private String returnOf(ExecutableElement method) {
+
+        return simpleNameOf(method.getReturnType());
+    }
+
+    private List<Parametro> paramsOf(ExecutableElement executable) {
+
+        return executable.getParameters().stream()
+                .map(parameter -> new Parametro(simpleNameOf(parameter.asType()), parameter.getSimpleName().toString()))
+                .collect(Collectors.toList());
+    }
+
+    private String simpleNameOf(TypeMirror type) {
+
+        switch (type.getKind()) {
+
+            case DECLARED:
+                return nameOf(((DeclaredType) type).asElement());
 
-        return unwrap(clazz.commentText());
+            case TYPEVAR:
+                return nameOf(((TypeVariable) type).asElement());
+
+            case ARRAY:
+                return intern(simpleNameOf(((ArrayType) type).getComponentType()) + "[]");
+
+            default:
+                return intern(type.toString());
+        }
     }
 
-    private String returnOf(MethodDoc method) {
+    @Override
+    public boolean run(DocletEnvironment environment) {
+
+        this.environment = environment;
+        trees = environment.getDocTrees();
+        published = new Publicaciones(options.comprimido());
+
+        Extraction extraction = EXTRACTION.get();
+
+        metrics = extraction != null ? extraction.metrics : new Medicion();
+        metrics.analizo(parsingNanos());
+
+        if (extraction != null) {
+
+            extractInto(extraction);
+
+            return true;
+        }
+
+        try {
+
+            skin = options.piel().map(Piel::llamada).orElseGet(Piel::predeterminada);
+
+        } catch (IllegalArgumentException e) {
+
+            reporter.print(Diagnostic.Kind.ERROR, e.getMessage());
+
+            return false;
+        }
+
+        Optional<Path> spillDirectory = options.volcado();
 
-        return method.returnType().simpleTypeName();
+        if (spillDirectory.isPresent()) {
+
+            if (options.paginas().isPresent() || options.instantanea().isPresent()
+                    || !options.formatos().equals(Collections.singleton(Opciones.HTML))) {
+
+                reporter.print(Diagnostic.Kind.ERROR,
+                        "-volcado sólo escribe el documento único en HTML: no admite -paginas, -instantanea ni otros formatos");
+
+                return false;
+            }
+
+            if (!stream(spillDirectory.get())) {
+
+                return false;
+            }
+
+            finishPublishing();
+            options.informe().ifPresent(metrics::guardarEn);
+
+            return true;
+        }
+
+        List<Tipo> types = extract();
+
+        /* a partir de acá sólo se usa el modelo: el doclet ya no retiene el árbol de javadoc */
+        this.environment = null;
+        trees = null;
+        inheritedFrom.clear();
+        declaredMethods.clear();
+
+        if (options.revisado() && !passes(metrics.medir("revision", () -> Revision.de(types)))) {
+
+            return false;
+        }
+
+        options.instantanea().ifPresent(snapshot -> metrics.medir("instantanea", () -> Instantanea.guardar(types, snapshot)));
+
+        write(types);
+        finishPublishing();
+        options.informe().ifPresent(metrics::guardarEn);
+
+        return true;
     }
 
-    private String nameOf(MethodDoc method) {
+    /*
+     * extrae los Tipos de las fuentes, agrupados por archivo, sin escribir documentación; los {@link} se resuelven
+     * también contra los Tipos conocidos, que vienen de archivos que no se vuelven a analizar. En ancestors deja,
+     * por cada Tipo extraído, sus supertipos documentados, directos o no, aunque no le hereden ningún método
+     */
+    static Map<Path, List<Tipo>> extract(DocumentationTool tool, StandardJavaFileManager files, Path sourcePath,
+                                         Collection<Path> sources, List<Tipo> known, Medicion metrics,
+                                         Map<String, Set<String>> ancestors) {
+
+        StringWriter messages = new StringWriter();
+        Extraction extraction = new Extraction(known, metrics, ancestors);
+        List<String> arguments = Arrays.asList("-encoding", "UTF-8", "-quiet", "-sourcepath", sourcePath.toString());
+
+        EXTRACTION.set(extraction);
+
+        try {
+
+            Iterable<? extends JavaFileObject> units = files.getJavaFileObjectsFromPaths(sources);
 
-        return method.name();
+            if (!call(tool.getTask(messages, files, null, JavaDoc.class, arguments, units))) {
+
+                throw new IllegalStateException(String.format("javadoc terminó con errores:%n%s", messages));
+            }
+
+        } finally {
+
+            EXTRACTION.remove();
+        }
+
+        return extraction.types;
     }
 
-    private String paramsOf(MethodDoc method) {
+    /* javadoc corre el doclet en este hilo: el análisis se mide desde acá y no desde el arranque de la JVM */
+    static boolean call(DocumentationTool.DocumentationTask task) {
 
-        return definitionOf(method.parameters());
+        TASK_STARTED.set(System.nanoTime());
+
+        try {
+
+            return task.call();
+
+        } finally {
+
+            TASK_STARTED.remove();
+        }
     }
 
-    private String definitionOf(Parameter[] parameters) {
+    /* lanzado con javadoc, la JVM arrancó para esta tarea: su arranque cuenta como parte del análisis */
+    private static long parsingNanos() {
+
+        Long started = TASK_STARTED.get();
 
-        return Arrays.stream(parameters)
-                .map(parameter -> parameter.type().simpleTypeName() + " " + parameter.name())
-                .collect(Collectors.joining(", "));
+        return started != null ? System.nanoTime() - started : ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
     }
 
-    private String valueOf(Tag tag) {
+    private void extractInto(Extraction extraction) {
 
-        return unwrap(tag.text());
+        extraction.known.forEach(this::indexSymbolsOf);
+
+        List<TypeElement> classes = ElementFilter.typesIn(environment.getIncludedElements()).stream()
+                .filter(this::mustInclude)
+                .collect(Collectors.toList());
+
+        classes.forEach(this::indexSymbolsOf);
+
+        for (TypeElement clazz : classes) {
+
+            extraction.types.computeIfAbsent(sourceOf(clazz), source -> new ArrayList<>()).add(typeOf(clazz));
+            extraction.ancestors.put(nameOf(clazz), ancestorsOf(clazz).stream().map(this::nameOf).collect(Collectors.toSet()));
+        }
     }
 
-    private String unwrap(String value) {
+    private Path sourceOf(TypeElement clazz) {
 
-        return value.replace('\n', ' ').replaceAll(" +", " ");
+        return Paths.get(trees.getPath(clazz).getCompilationUnit().getSourceFile().toUri()).toAbsolutePath().normalize();
     }
 
-    public static boolean start(RootDoc root) {
+    private static class Extraction {
 
-        new JavaDoc(root).execute();
+        private final List<Tipo> known;
 
-        return true;
+        private final Map<Path, List<Tipo>> types = new HashMap<>();
+
+        private final Medicion metrics;
+
+        private final Map<String, Set<String>> ancestors;
+
+        Extraction(List<Tipo> known, Medicion metrics, Map<String, Set<String>> ancestors) {
+
+            this.known = known;
+            this.metrics = metrics;
+            this.ancestors = ancestors;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package espacial.documentador;
+
+import java.util.List;
+import java.util.Locale;
+
+/* los contratos como JSON para el corrector automático: un Tipo por línea */
+public class Json implements Formato {
+
+    private final Salida archivo;
+
+    public Json(Salida archivo) {
+
+        this.archivo = archivo;
+    }
+
+    @Override
+    public void descartar() {
+
+        archivo.descartar();
+    }
+
+    @Override
+    public void escribirDocumento(List<Tipo> tipos) {
+
+        archivo.escribir("{\"tipos\":[").terminarLinea();
+
+        for (int i = 0; i < tipos.size(); i++) {
+
+            StringBuilder json = new StringBuilder();
+            agregarTipo(json, tipos.get(i));
+
+            archivo.escribir(json.append(i + 1 < tipos.size() ? "," : "").toString()).terminarLinea();
+        }
+
+        archivo.escribir("]}").terminarLinea();
+        archivo.cerrar();
+    }
+
+    static StringBuilder agregarTipo(StringBuilder json, Tipo unTipo) {
+
+        json.append("{\"nombre\":");
+        agregarCadena(json, unTipo.nombre()).append(",\"ancla\":");
+        agregarCadena(json, unTipo.ancla()).append(",\"prioridad\":");
+        agregarCadena(json, unTipo.prioridad()).append(",\"descripcion\":");
+        agregarCadena(json, unTipo.descripcion().unido()).append(",\"enumerado\":").append(unTipo.esEnumerado());
+
+        json.append(",\"valores\":[");
+
+        for (int i = 0; i < unTipo.valores().size(); i++) {
+
+            agregarCadena(json.append(i > 0 ? "," : ""), unTipo.valores().get(i));
+        }
+
+        json.append("],\"constructores\":");
+        agregarOperaciones(json, unTipo.nombre(), unTipo.constructores()).append(",\"metodos\":");
+        agregarOperaciones(json, unTipo.nombre(), unTipo.metodos()).append(",\"heredados\":[");
+
+        for (int i = 0; i < unTipo.heredados().size(); i++) {
+
+            Herencia herencia = unTipo.heredados().get(i);
+
+            /* las anclas son las de la declaración en el ancestro */
+            agregarCadena(json.append(i > 0 ? "," : "").append("{\"tipo\":"), herencia.tipo()).append(",\"metodos\":");
+            agregarOperaciones(json, herencia.tipo(), herencia.metodos()).append('}');
+        }
+
+        return json.append("]}");
+    }
+
+    private static StringBuilder agregarOperaciones(StringBuilder json, String tipo, List<Operacion> operaciones) {
+
+        json.append('[');
+
+        for (int i = 0; i < operaciones.size(); i++) {
+
+            Operacion operacion = operaciones.get(i);
+
+            json.append(i > 0 ? "," : "").append("{\"nombre\":");
+            agregarCadena(json, operacion.nombre()).append(",\"ancla\":");
+            agregarCadena(json, Tipo.anclaDe(tipo, operacion.ancla())).append(",\"firma\":");
+            agregarCadena(json, operacion.firma()).append(",\"retorno\":");
+
+            if (operacion.esConstructor()) {
+
+                json.append("null");
+
+            } else {
+
+                agregarCadena(json, operacion.retorno());
+            }
+
+            json.append(",\"parametros\":[");
+
+            for (int j = 0; j < operacion.parametros().size(); j++) {
+
+                Parametro parametro = operacion.parametros().get(j);
+
+                json.append(j > 0 ? "," : "").append("{\"tipo\":");
+                agregarCadena(json, parametro.tipo()).append(",\"nombre\":");
+                agregarCadena(json, parametro.nombre()).append('}');
+            }
+
+            json.append("],\"contrato\":");
+            agregarContrato(json, operacion.contrato()).append('}');
+        }
+
+        return json.append(']');
+    }
+
+    private static StringBuilder agregarContrato(StringBuilder json, List<Condicion> contrato) {
+
+        json.append('[');
+
+        for (int i = 0; i < contrato.size(); i++) {
+
+            Condicion unaCondicion = contrato.get(i);
+
+            json.append(i > 0 ? "," : "").append("{\"clase\":");
+            agregarCadena(json, unaCondicion.clase().name().toLowerCase(Locale.ROOT));
+
+            if (unaCondicion.clase() == Condicion.Clase.PARAMETRO) {
+
+                agregarCadena(json.append(",\"nombre\":"), unaCondicion.nombre());
+            }
+
+            agregarCadena(json.append(",\"texto\":"), unaCondicion.texto().unido()).append('}');
+        }
+
+        return json.append(']');
+    }
+
+    /* escapa también / para que la cadena pueda incluirse dentro de un <script> */
+    static StringBuilder agregarCadena(StringBuilder json, String cadena) {
+
+        json.append('"');
+
+        for (int i = 0; i < cadena.length(); i++) {
+
+            char caracter = cadena.charAt(i);
+
+            if (caracter == '"' || caracter == '\\' || caracter == '/') {
+
+                json.append('\\').append(caracter);
+
+            } else if (caracter < 0x20) {
+
+                json.append(String.format("\\u%04x", (int) caracter));
+
+            } else {
+
+                json.append(caracter);
+            }
+        }
+
+        return json.append('"');
+    }
+}
@@ -0,0 +1,359 @@
+package espacial.documentador;
+
+import javax.tools.DocumentationTool;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * documenta varias raíces de fuentes en una misma JVM; cada línea del manifiesto es
+ * <raíz de fuentes> <documento> [opciones del doclet], con las rutas relativas al manifiesto,
+ * también las de las opciones, y entre comillas dobles las que tienen espacios
+ */
+public class Lote {
+
+    private final int simultaneas;
+
+    private final DocumentationTool javadoc = ToolProvider.getSystemDocumentationTool();
+
+    /* uno por raíz en curso: javadoc configura las ubicaciones del que recibe, no se puede compartir entre tareas */
+    private final BlockingQueue<StandardJavaFileManager> archivos;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+
+    public Lote(int simultaneas) {
+
+        if (simultaneas < 1) {
+
+            throw new IllegalArgumentException(String.format("Las raíces simultáneas deben ser al menos 1: %d", simultaneas));
+        }
+
+        this.simultaneas = simultaneas;
+        archivos = new ArrayBlockingQueue<>(simultaneas);
+
+        for (int i = 0; i < simultaneas; i++) {
+
+            archivos.add(javadoc.getStandardFileManager(null, null, StandardCharsets.UTF_8));
+        }
+    }
+
+    public static void main(String[] argumentos) {
+
+        if (argumentos.length < 1 || argumentos.length > 2) {
+
+            System.err.println("Uso: Lote <manifiesto> [<raíces simultáneas>]");
+            System.exit(1);
+        }
+
+        if (argumentos.length > 1 && !argumentos[1].matches("0*[1-9][0-9]{0,8}")) {
+
+            System.err.printf("Las raíces simultáneas deben ser un número entero mayor que cero: '%s'%n", argumentos[1]);
+            System.exit(1);
+        }
+
+        int simultaneas = argumentos.length > 1 ? Integer.parseInt(argumentos[1]) : Runtime.getRuntime().availableProcessors();
+        long inicio = System.nanoTime();
+
+        Lote lote = new Lote(simultaneas);
+        List<Resultado> resultados = lote.documentar(leer(Paths.get(argumentos[0])));
+        lote.cerrar();
+
+        resultados.forEach(System.out::println);
+        System.out.printf("%d raíces documentadas en %d ms%n", resultados.size(), (System.nanoTime() - inicio) / 1_000_000);
+
+        if (resultados.stream().anyMatch(resultado -> !resultado.exitoso())) {
+
+            System.exit(1);
+        }
+    }
+
+    public static List<Entrada> leer(Path manifiesto) {
+
+        Path base = manifiesto.toAbsolutePath().getParent();
+        List<Entrada> entradas = new ArrayList<>();
+
+        try {
+
+            List<String> lineas = Files.readAllLines(manifiesto, StandardCharsets.UTF_8);
+
+            for (int numero = 1; numero <= lineas.size(); numero++) {
+
+                String linea = lineas.get(numero - 1).trim();
+
+                if (linea.isEmpty() || linea.startsWith("#")) {
+
+                    continue;
+                }
+
+                List<String> partes = partir(linea);
+
+                if (partes == null) {
+
+                    throw new IllegalArgumentException(String.format(
+                            "Línea %d de '%s': hay comillas sin cerrar", numero, manifiesto));
+                }
+
+                if (partes.size() < 2) {
+
+                    throw new IllegalArgumentException(String.format(
+                            "Línea %d de '%s': se espera <raíz de fuentes> <documento> [opciones]", numero, manifiesto));
+                }
+
+                /* el documento es la segunda columna: un -salida en las opciones la reemplazaría sin aviso */
+                if (partes.subList(2, partes.size()).stream().anyMatch(Opciones::esSalida)) {
+
+                    throw new IllegalArgumentException(String.format(
+                            "Línea %d de '%s': el documento va en la segunda columna, no con -salida", numero, manifiesto));
+                }
+
+                entradas.add(new Entrada(base.resolve(partes.get(0)).normalize(), base.resolve(partes.get(1)).normalize(),
+                        resolverOpciones(partes.subList(2, partes.size()), base)));
+            }
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible leer el manifiesto '%s'", manifiesto), e);
+        }
+
+        return entradas;
+    }
+
+    /* separa en espacios fuera de comillas dobles; null si quedó una comilla sin cerrar */
+    private static List<String> partir(String linea) {
+
+        List<String> partes = new ArrayList<>();
+        StringBuilder parte = null;
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+
+            char caracter = linea.charAt(i);
+
+            if (caracter == '"') {
+
+                entreComillas = !entreComillas;
+                parte = parte == null ? new StringBuilder() : parte;
+
+            } else if (Character.isWhitespace(caracter) && !entreComillas) {
+
+                if (parte != null) {
+
+                    partes.add(parte.toString());
+                    parte = null;
+                }
+
+            } else {
+
+                parte = parte == null ? new StringBuilder() : parte;
+                parte.append(caracter);
+            }
+        }
+
+        if (parte != null) {
+
+            partes.add(parte.toString());
+        }
+
+        return entreComillas ? null : partes;
+    }
+
+    /* el valor de las opciones con ruta parte del manifiesto, y el de -piel cuando es un directorio junto a él */
+    private static List<String> resolverOpciones(List<String> opciones, Path base) {
+
+        List<String> resueltas = new ArrayList<>(opciones);
+
+        for (int i = 0; i + 1 < resueltas.size(); i++) {
+
+            String opcion = resueltas.get(i);
+            Path valor = base.resolve(resueltas.get(i + 1)).normalize();
+
+            if (Opciones.conRuta(opcion) || (Opciones.conPiel(opcion) && Files.isDirectory(valor))) {
+
+                resueltas.set(++i, valor.toString());
+            }
+        }
+
+        return resueltas;
+    }
+
+    /* a lo sumo simultaneas raíces en curso: las demás esperan antes de leer siquiera sus fuentes */
+    public List<Resultado> documentar(List<Entrada> entradas) {
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(simultaneas);
+        Semaphore lugares = new Semaphore(simultaneas);
+        List<CompletableFuture<Resultado>> pendientes = new ArrayList<>();
+
+        try {
+
+            for (Entrada entrada : entradas) {
+
+                lugares.acquireUninterruptibly();
+
+                pendientes.add(CompletableFuture.supplyAsync(() -> documentar(entrada), ejecutor)
+                        .whenComplete((resultado, error) -> lugares.release()));
+            }
+
+            return pendientes.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        } finally {
+
+            ejecutor.shutdown();
+        }
+    }
+
+    private Resultado documentar(Entrada entrada) {
+
+        long inicio = System.nanoTime();
+        StringWriter mensajes = new StringWriter();
+        StandardJavaFileManager conArchivos = archivos.remove();
+
+        maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+
+        try {
+
+            List<String> opciones = new ArrayList<>(Arrays.asList("-encoding", "UTF-8", "-quiet",
+                    "-sourcepath", entrada.raiz().toString(), "-salida", entrada.documento().toString()));
+            opciones.addAll(entrada.opciones());
+
+            Iterable<? extends JavaFileObject> unidades = conArchivos.getJavaFileObjectsFromPaths(fuentesDe(entrada.raiz()));
+            boolean exitoso = JavaDoc.call(javadoc.getTask(mensajes, conArchivos, null, JavaDoc.class, opciones, unidades));
+
+            return new Resultado(entrada, exitoso, (System.nanoTime() - inicio) / 1_000_000, mensajes.toString());
+
+        } catch (RuntimeException e) {
+
+            return new Resultado(entrada, false, (System.nanoTime() - inicio) / 1_000_000, mensajes + e.toString());
+
+        } finally {
+
+            enCurso.decrementAndGet();
+            archivos.add(conArchivos);
+        }
+    }
+
+    public int maximoEnCurso() {
+
+        return maximoEnCurso.get();
+    }
+
+    public void cerrar() {
+
+        for (StandardJavaFileManager conArchivos : archivos) {
+
+            try {
+
+                conArchivos.close();
+
+            } catch (IOException e) {
+
+                throw new RuntimeException("No fue posible cerrar el administrador de archivos", e);
+            }
+        }
+    }
+
+    private static List<Path> fuentesDe(Path raiz) {
+
+        try (Stream<Path> recorrido = Files.walk(raiz)) {
+
+            return recorrido.filter(archivo -> archivo.toString().endsWith(".java") && Files.isRegularFile(archivo))
+                    .sorted()
+                    .collect(Collectors.toList());
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible recorrer '%s'", raiz), e);
+        }
+    }
+
+    public static class Entrada {
+
+        private final Path raiz;
+
+        private final Path documento;
+
+        private final List<String> opciones;
+
+        public Entrada(Path raiz, Path documento, List<String> opciones) {
+
+            this.raiz = raiz;
+            this.documento = documento;
+            this.opciones = opciones;
+        }
+
+        public Path raiz() {
+
+            return raiz;
+        }
+
+        public Path documento() {
+
+            return documento;
+        }
+
+        public List<String> opciones() {
+
+            return opciones;
+        }
+    }
+
+    public static class Resultado {
+
+        private final Entrada entrada;
+
+        private final boolean exitoso;
+
+        private final long milisegundos;
+
+        private final String mensajes;
+
+        Resultado(Entrada entrada, boolean exitoso, long milisegundos, String mensajes) {
+
+            this.entrada = entrada;
+            this.exitoso = exitoso;
+            this.milisegundos = milisegundos;
+            this.mensajes = mensajes;
+        }
+
+        public Entrada entrada() {
+
+            return entrada;
+        }
+
+        public boolean exitoso() {
+
+            return exitoso;
+        }
+
+        public String mensajes() {
+
+            return mensajes;
+        }
+
+        @Override
+        public String toString() {
+
+            return String.format("%s -> %s: %s en %d ms%s", entrada.raiz(), entrada.documento(),
+                    exitoso ? "documentada" : "con errores", milisegundos, exitoso ? "" : System.lineSeparator() + mensajes);
+        }
+    }
+}
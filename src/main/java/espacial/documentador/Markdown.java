@@ -0,0 +1,208 @@
+package espacial.documentador;
+
+import java.util.List;
+
+/* los contratos como Markdown para la wiki del curso: anclas explícitas para que los enlaces sobrevivan */
+public class Markdown implements Formato {
+
+    private static final String ESPECIALES = "\\`*_[]<>#|";
+
+    private final Salida archivo;
+
+    public Markdown(Salida archivo) {
+
+        this.archivo = archivo;
+    }
+
+    @Override
+    public void descartar() {
+
+        archivo.descartar();
+    }
+
+    @Override
+    public void escribirDocumento(List<Tipo> tipos) {
+
+        linea("# Documentación");
+
+        for (Tipo unTipo : tipos) {
+
+            escribir(unTipo);
+        }
+
+        archivo.cerrar();
+    }
+
+    public void escribir(Tipo unTipo) {
+
+        archivo.terminarLinea();
+        linea(anclaHtml(unTipo.ancla()));
+        linea("## " + escapar(unTipo.nombre()));
+
+        if (!unTipo.descripcion().esVacio()) {
+
+            archivo.terminarLinea();
+            linea(contenidoDe(unTipo.descripcion()));
+        }
+
+        if (unTipo.esEnumerado()) {
+
+            archivo.terminarLinea();
+            linea("### Valores");
+            archivo.terminarLinea();
+
+            for (String valor : unTipo.valores()) {
+
+                linea("- " + anclaHtml(Tipo.anclaDe(unTipo.nombre(), valor)) + codigo(valor));
+            }
+
+        } else {
+
+            escribirOperaciones("Constructores", unTipo.nombre(), unTipo.constructores());
+            escribirOperaciones("Métodos", unTipo.nombre(), unTipo.metodos());
+
+            for (Herencia herencia : unTipo.heredados()) {
+
+                /* sin anclas: ya están en la declaración del ancestro */
+                escribirOperaciones("Métodos heredados de [" + codigo(herencia.tipo()) + "](#" + herencia.tipo() + ")",
+                        null, herencia.metodos());
+            }
+        }
+    }
+
+    private void escribirOperaciones(String titulo, String tipo, List<Operacion> operaciones) {
+
+        if (operaciones.isEmpty()) {
+
+            return;
+        }
+
+        archivo.terminarLinea();
+        linea("### " + titulo);
+
+        for (Operacion operacion : operaciones) {
+
+            archivo.terminarLinea();
+
+            if (tipo != null) {
+
+                linea(anclaHtml(Tipo.anclaDe(tipo, operacion.ancla())));
+            }
+
+            linea("```java");
+            linea(operacion.firma());
+            linea("```");
+
+            if (!operacion.contrato().isEmpty()) {
+
+                archivo.terminarLinea();
+            }
+
+            for (Condicion unaCondicion : operacion.contrato()) {
+
+                linea("- " + condicion(unaCondicion));
+            }
+        }
+    }
+
+    private static String condicion(Condicion unaCondicion) {
+
+        switch (unaCondicion.clase()) {
+
+            case PRE:
+                return "**pre** " + contenidoDe(unaCondicion.texto());
+
+            case PARAMETRO:
+                return "**param** " + codigo(unaCondicion.nombre()) + ": " + contenidoDe(unaCondicion.texto());
+
+            case POST:
+                return "**post** " + contenidoDe(unaCondicion.texto());
+
+            default:
+                return "**return** " + contenidoDe(unaCondicion.texto());
+        }
+    }
+
+    static String contenidoDe(Texto texto) {
+
+        StringBuilder contenido = new StringBuilder();
+
+        for (Fragmento fragmento : texto.fragmentos()) {
+
+            switch (fragmento.clase()) {
+
+                case TEXTO:
+                    contenido.append(escapar(fragmento.contenido()));
+                    break;
+
+                case CODIGO:
+                    contenido.append(codigo(fragmento.contenido()));
+                    break;
+
+                case ENLACE:
+                    contenido.append('[').append(escapar(fragmento.contenido())).append("](#").append(fragmento.ancla()).append(')');
+                    break;
+
+                case ENLACE_A_CODIGO:
+                    contenido.append('[').append(codigo(fragmento.contenido())).append("](#").append(fragmento.ancla()).append(')');
+                    break;
+            }
+        }
+
+        return contenido.toString().trim();
+    }
+
+    /* une los espacios y saltos de línea consecutivos: un salto dentro de una lista la cortaría */
+    static String escapar(String texto) {
+
+        StringBuilder escapado = new StringBuilder(texto.length());
+        boolean espacio = false;
+
+        for (int i = 0; i < texto.length(); i++) {
+
+            char caracter = texto.charAt(i);
+
+            if (Character.isWhitespace(caracter)) {
+
+                if (!espacio) {
+
+                    escapado.append(' ');
+                    espacio = true;
+                }
+
+                continue;
+            }
+
+            espacio = false;
+
+            if (ESPECIALES.indexOf(caracter) >= 0) {
+
+                escapado.append('\\');
+            }
+
+            escapado.append(caracter);
+        }
+
+        return escapado.toString();
+    }
+
+    /* un código que contiene ` se delimita con `` */
+    static String codigo(String contenido) {
+
+        String unido = Texto.unido(contenido);
+        String delimitador = unido.indexOf('`') >= 0 ? "``" : "`";
+        String relleno = delimitador.length() > 1 ? " " : "";
+
+        return delimitador + relleno + unido + relleno + delimitador;
+    }
+
+    private static String anclaHtml(String ancla) {
+
+        return "<a id=\"" + ancla.replace("\"", "&quot;") + "\"></a>";
+    }
+
+    private void linea(String texto) {
+
+        archivo.escribir(texto).terminarLinea();
+    }
+}
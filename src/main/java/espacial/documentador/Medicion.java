@@ -0,0 +1,213 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * duración y memoria asignada de cada fase, más los contadores del modelo y los bytes escritos;
+ * la memoria asignada de una fase es la de su hilo: lo que renderizan otros hilos sólo aparece en el total
+ */
+public class Medicion {
+
+    private static final long NO_DISPONIBLE = -1;
+
+    private final long inicio = System.nanoTime();
+
+    private final long asignadosAlInicio = asignadosEnTodosLosHilos();
+
+    /* lo que tardó javadoc en analizar las fuentes antes de llegar al doclet */
+    private long javadoc = NO_DISPONIBLE;
+
+    private long escritos;
+
+    private final List<String> fases = new ArrayList<>();
+
+    private final Map<String, long[]> mediciones = new LinkedHashMap<>();
+
+    private final Map<String, Long> contadores = new LinkedHashMap<>();
+
+    public void medir(String fase, Runnable trabajo) {
+
+        medir(fase, () -> {
+
+            trabajo.run();
+
+            return null;
+        });
+    }
+
+    public <T> T medir(String fase, Supplier<T> trabajo) {
+
+        EventoDeFase evento = new EventoDeFase();
+        evento.fase = fase;
+        evento.begin();
+
+        long asignados = asignadosEnEsteHilo();
+        long desde = System.nanoTime();
+
+        try {
+
+            return trabajo.get();
+
+        } finally {
+
+            long nanos = System.nanoTime() - desde;
+            asignados = asignados == NO_DISPONIBLE ? NO_DISPONIBLE : asignadosEnEsteHilo() - asignados;
+
+            evento.asignados = asignados;
+            evento.commit();
+
+            registrar(fase, nanos, asignados);
+        }
+    }
+
+    private synchronized void registrar(String fase, long nanos, long asignados) {
+
+        long[] medicion = mediciones.get(fase);
+
+        if (medicion == null) {
+
+            fases.add(fase);
+            mediciones.put(fase, new long[] { nanos, asignados });
+
+        } else {
+
+            medicion[0] += nanos;
+            medicion[1] = medicion[1] == NO_DISPONIBLE || asignados == NO_DISPONIBLE ? NO_DISPONIBLE : medicion[1] + asignados;
+        }
+    }
+
+    public synchronized void contar(String contador, long cantidad) {
+
+        contadores.merge(contador, cantidad, Long::sum);
+    }
+
+    public synchronized long contador(String contador) {
+
+        return contadores.getOrDefault(contador, 0L);
+    }
+
+    public synchronized void analizo(long nanos) {
+
+        javadoc = (javadoc == NO_DISPONIBLE ? 0 : javadoc) + nanos;
+    }
+
+    public synchronized long analisis() {
+
+        return javadoc;
+    }
+
+    /* los bytes de los documentos de la ejecución: los que se arman en memoria no cuentan */
+    public synchronized void escribio(long bytes) {
+
+        escritos += bytes;
+    }
+
+    public synchronized List<String> fases() {
+
+        return new ArrayList<>(fases);
+    }
+
+    public synchronized String comoJson() {
+
+        long nanos = System.nanoTime() - inicio;
+        long asignados = asignadosEnTodosLosHilos();
+        double segundos = Math.max(nanos, 1) / 1e9;
+
+        StringBuilder json = new StringBuilder("{\"javadocNanos\":");
+        agregarCantidad(json, javadoc).append(",\"nanos\":").append(nanos)
+                .append(",\"asignados\":");
+        agregarCantidad(json, asignados == NO_DISPONIBLE || asignadosAlInicio == NO_DISPONIBLE
+                ? NO_DISPONIBLE : Math.max(asignados - asignadosAlInicio, 0));
+        json.append(",\"bytesEscritos\":").append(escritos)
+                .append(",\"tiposPorSegundo\":").append(Math.round(contador("tipos") / segundos))
+                .append(",\"bytesPorSegundo\":").append(Math.round(escritos / segundos))
+                .append(",\"contadores\":{");
+
+        int numero = 0;
+
+        for (Map.Entry<String, Long> contador : contadores.entrySet()) {
+
+            Json.agregarCadena(json.append(numero++ > 0 ? "," : ""), contador.getKey()).append(':').append(contador.getValue());
+        }
+
+        json.append("},\"fases\":[");
+
+        for (int i = 0; i < fases.size(); i++) {
+
+            long[] medicion = mediciones.get(fases.get(i));
+
+            Json.agregarCadena(json.append(i > 0 ? "," : "").append("{\"fase\":"), fases.get(i))
+                    .append(",\"nanos\":").append(medicion[0])
+                    .append(",\"asignados\":");
+            agregarCantidad(json, medicion[1]).append('}');
+        }
+
+        return json.append("]}").toString();
+    }
+
+    public void guardarEn(Path archivo) {
+
+        try {
+
+            Path directorio = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            Files.write(archivo, (comoJson() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible guardar el informe '%s'", archivo), e);
+        }
+    }
+
+    private static StringBuilder agregarCantidad(StringBuilder json, long cantidad) {
+
+        return cantidad == NO_DISPONIBLE ? json.append("null") : json.append(cantidad);
+    }
+
+    private static long asignadosEnEsteHilo() {
+
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+
+        if (hilos instanceof com.sun.management.ThreadMXBean) {
+
+            long asignados = ((com.sun.management.ThreadMXBean) hilos).getCurrentThreadAllocatedBytes();
+
+            return asignados < 0 ? NO_DISPONIBLE : asignados;
+        }
+
+        return NO_DISPONIBLE;
+    }
+
+    /* los hilos que terminaron se llevan lo que asignaron: es una cota inferior */
+    private static long asignadosEnTodosLosHilos() {
+
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+
+        if (hilos instanceof com.sun.management.ThreadMXBean) {
+
+            long total = 0;
+
+            for (long asignados : ((com.sun.management.ThreadMXBean) hilos).getThreadAllocatedBytes(hilos.getAllThreadIds())) {
+
+                if (asignados > 0) {
+
+                    total += asignados;
+                }
+            }
+
+            return total;
+        }
+
+        return NO_DISPONIBLE;
+    }
+}
@@ -0,0 +1,281 @@
+package espacial.documentador;
+
+import jdk.javadoc.doclet.Doclet;
+import jdk.javadoc.doclet.Reporter;
+
+import javax.tools.Diagnostic;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class Opciones {
+
+    private static final String SALIDA = "-salida";
+
+    private static final String CACHE = "-cache";
+
+    private static final String INSTANTANEA = "-instantanea";
+
+    private static final String PAGINAS = "-paginas";
+
+    private static final String ESTILO = "-estilo";
+
+    private static final String ESTILO_INCLUIDO = "incluido";
+
+    private static final String ESTILO_EXTERNO = "externo";
+
+    private static final String FORMATOS = "-formatos";
+
+    private static final String VOLCADO = "-volcado";
+
+    private static final String INFORME = "-informe";
+
+    private static final String PIEL = "-piel";
+
+    private static final String COMPRESION = "-compresion";
+
+    private static final String SIN_COMPRESION = "ninguna";
+
+    private static final String GZIP = "gzip";
+
+    private static final String REVISION = "-revision";
+
+    private static final String ADVERTIR = "advertir";
+
+    private static final String ESTRICTA = "estricta";
+
+    public static final String HTML = "html";
+
+    public static final String MARKDOWN = "markdown";
+
+    public static final String JSON = "json";
+
+    /* las opciones cuyo valor es siempre una ruta; -piel también puede ser el nombre de una piel incluida */
+    private static final Set<String> CON_RUTA = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(SALIDA, CACHE, INSTANTANEA, PAGINAS, VOLCADO, INFORME)));
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    private final Set<Doclet.Option> soportadas = new LinkedHashSet<>();
+
+    private Reporter reporter;
+
+    public Opciones() {
+
+        soportadas.add(new Opcion(SALIDA, "<archivo>",
+                "Documento a generar (por omisión ./contratos.html)"));
+        soportadas.add(new Opcion(CACHE, "<directorio>",
+                "Conserva el HTML de cada Tipo entre ejecuciones y sólo renderiza los que cambiaron"));
+        soportadas.add(new Opcion(INSTANTANEA, "<archivo>",
+                "Guarda el modelo extraído para regenerar la documentación sin ejecutar javadoc"));
+        soportadas.add(new Opcion(PAGINAS, "<directorio>",
+                "Escribe una página por Tipo y un índice en lugar de un único documento"));
+        soportadas.add(new Opcion(ESTILO, "<externo|incluido>",
+                "Enlaza una hoja de estilo compartida (por omisión) o la incluye en cada documento",
+                ESTILO_EXTERNO, ESTILO_INCLUIDO));
+        soportadas.add(new Opcion(FORMATOS, "<html,markdown,json>",
+                "Formatos a escribir desde una misma extracción (por omisión html); markdown y json van junto a -salida",
+                HTML, MARKDOWN, JSON).enLista());
+        soportadas.add(new Opcion(VOLCADO, "<directorio>",
+                "Renderiza cada Tipo apenas se extrae en archivos temporales por prioridad y arma el documento al final"));
+        soportadas.add(new Opcion(INFORME, "<archivo>",
+                "Escribe en JSON la duración y la memoria de cada fase, los contadores del modelo y los bytes escritos"));
+        soportadas.add(new Opcion(PIEL, "<nombre|directorio>",
+                "Piel incluida (esqueleto, compacta) o directorio con plantillas propias (por omisión esqueleto)"));
+        soportadas.add(new Opcion(COMPRESION, "<ninguna|gzip>",
+                "Escribe junto a cada documento su variante .gz y un manifiesto con tamaños y huellas (por omisión ninguna)",
+                SIN_COMPRESION, GZIP));
+        soportadas.add(new Opcion(REVISION, "<advertir|estricta>",
+                "Revisa los contratos extraídos e informa los hallazgos, también en JSON junto a -salida; estricta no escribe "
+                        + "la documentación si hay errores",
+                ADVERTIR, ESTRICTA));
+    }
+
+    public static boolean conRuta(String opcion) {
+
+        return CON_RUTA.contains(opcion);
+    }
+
+    public static boolean conPiel(String opcion) {
+
+        return PIEL.equals(opcion);
+    }
+
+    public static boolean esSalida(String opcion) {
+
+        return SALIDA.equals(opcion);
+    }
+
+    public void informarCon(Reporter reporter) {
+
+        this.reporter = reporter;
+    }
+
+    public Set<Doclet.Option> soportadas() {
+
+        return soportadas;
+    }
+
+    public Path salida() {
+
+        return Paths.get(valores.getOrDefault(SALIDA, "./contratos.html"));
+    }
+
+    public Optional<Path> cache() {
+
+        return valorDe(CACHE).map(Paths::get);
+    }
+
+    public Optional<Path> instantanea() {
+
+        return valorDe(INSTANTANEA).map(Paths::get);
+    }
+
+    public Optional<Path> paginas() {
+
+        return valorDe(PAGINAS).map(Paths::get);
+    }
+
+    /* contratos.html con otra extensión: contratos.md, contratos.json */
+    public Path salidaCon(String extension) {
+
+        String nombre = salida().getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+
+        return salida().resolveSibling((punto > 0 ? nombre.substring(0, punto) : nombre) + extension);
+    }
+
+    public Set<String> formatos() {
+
+        return new LinkedHashSet<>(Arrays.asList(valores.getOrDefault(FORMATOS, HTML).split(",")));
+    }
+
+    public Optional<Path> volcado() {
+
+        return valorDe(VOLCADO).map(Paths::get);
+    }
+
+    public Optional<Path> informe() {
+
+        return valorDe(INFORME).map(Paths::get);
+    }
+
+    public Optional<String> piel() {
+
+        return valorDe(PIEL);
+    }
+
+    public boolean comprimido() {
+
+        return GZIP.equals(valores.get(COMPRESION));
+    }
+
+    public boolean revisado() {
+
+        return valores.containsKey(REVISION);
+    }
+
+    public boolean revisionEstricta() {
+
+        return ESTRICTA.equals(valores.get(REVISION));
+    }
+
+    public boolean estiloIncluido() {
+
+        return ESTILO_INCLUIDO.equals(valores.get(ESTILO));
+    }
+
+    private Optional<String> valorDe(String opcion) {
+
+        return Optional.ofNullable(valores.get(opcion));
+    }
+
+    private class Opcion implements Doclet.Option {
+
+        private final String nombre;
+
+        private final String parametros;
+
+        private final String descripcion;
+
+        private final List<String> permitidos;
+
+        private boolean enLista;
+
+        Opcion(String nombre, String parametros, String descripcion, String... permitidos) {
+
+            this.nombre = nombre;
+            this.parametros = parametros;
+            this.descripcion = descripcion;
+            this.permitidos = Arrays.asList(permitidos);
+        }
+
+        /* el argumento es una lista separada por comas y cada elemento debe ser uno de los permitidos */
+        Opcion enLista() {
+
+            enLista = true;
+
+            return this;
+        }
+
+        @Override
+        public int getArgumentCount() {
+
+            return 1;
+        }
+
+        @Override
+        public String getDescription() {
+
+            return descripcion;
+        }
+
+        @Override
+        public Kind getKind() {
+
+            return Kind.STANDARD;
+        }
+
+        @Override
+        public List<String> getNames() {
+
+            return Collections.singletonList(nombre);
+        }
+
+        @Override
+        public String getParameters() {
+
+            return parametros;
+        }
+
+        @Override
+        public boolean process(String opcion, List<String> argumentos) {
+
+            List<String> elegidos = enLista ? Arrays.asList(argumentos.get(0).split(",")) : argumentos;
+
+            if (!permitidos.isEmpty() && !permitidos.containsAll(elegidos)) {
+
+                if (reporter != null) {
+
+                    reporter.print(Diagnostic.Kind.ERROR, String.format("Valor no válido para %s: '%s' (se espera %s)",
+                            nombre, argumentos.get(0), String.join(enLista ? ", " : " o ", permitidos)));
+                }
+
+                return false;
+            }
+
+            valores.put(nombre, argumentos.get(0));
+
+            return true;
+        }
+    }
+}
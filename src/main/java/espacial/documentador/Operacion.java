@@ -0,0 +1,106 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Operacion {
+
+    private final String retorno;
+
+    private final String nombre;
+
+    private final List<Parametro> parametros;
+
+    private final List<Condicion> contrato;
+
+    private Operacion(String retorno, String nombre, List<Parametro> parametros, List<Condicion> contrato) {
+
+        this.retorno = retorno;
+        this.nombre = nombre;
+        this.parametros = Collections.unmodifiableList(new ArrayList<>(parametros));
+        this.contrato = Collections.unmodifiableList(new ArrayList<>(contrato));
+    }
+
+    public static Operacion constructor(String nombre, List<Parametro> parametros, List<Condicion> contrato) {
+
+        return new Operacion(null, nombre, parametros, contrato);
+    }
+
+    public static Operacion metodo(String retorno, String nombre, List<Parametro> parametros, List<Condicion> contrato) {
+
+        return new Operacion(retorno, nombre, parametros, contrato);
+    }
+
+    public boolean esConstructor() {
+
+        return retorno == null;
+    }
+
+    public String retorno() {
+
+        return retorno;
+    }
+
+    public String nombre() {
+
+        return nombre;
+    }
+
+    public List<Parametro> parametros() {
+
+        return parametros;
+    }
+
+    public List<Condicion> contrato() {
+
+        return contrato;
+    }
+
+    public String ancla() {
+
+        return ancla(nombre, parametros);
+    }
+
+    /* identifica a la operación dentro de su Tipo: el nombre y los Tipos de los parámetros */
+    public static String ancla(String nombre, List<Parametro> parametros) {
+
+        StringBuilder ancla = new StringBuilder(nombre).append('(');
+
+        for (int i = 0; i < parametros.size(); i++) {
+
+            if (i > 0) {
+
+                ancla.append(',');
+            }
+
+            ancla.append(parametros.get(i).tipo());
+        }
+
+        return ancla.append(')').toString();
+    }
+
+    public String firma() {
+
+        StringBuilder firma = new StringBuilder();
+
+        if (!esConstructor()) {
+
+            firma.append(retorno).append(' ');
+        }
+
+        firma.append(nombre).append('(');
+
+        for (int i = 0; i < parametros.size(); i++) {
+
+            if (i > 0) {
+
+                firma.append(", ");
+            }
+
+            firma.append(parametros.get(i).tipo()).append(' ').append(parametros.get(i).nombre());
+        }
+
+        return firma.append(')').toString();
+    }
+}
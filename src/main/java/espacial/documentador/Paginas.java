@@ -0,0 +1,115 @@
+package espacial.documentador;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/* una página por Tipo, un índice y una única hoja de estilo compartida por todas */
+public class Paginas implements Formato {
+
+    public static final String INDICE = "indice.html";
+
+    private final Path directorio;
+
+    private final Piel piel;
+
+    private final Publicaciones publicaciones;
+
+    private final Documentacion indice;
+
+    private CacheDeFragmentos cache;
+
+    private boolean estiloIncluido;
+
+    public Paginas(Path directorio, Piel piel) {
+
+        this(directorio, piel, null);
+    }
+
+    public Paginas(Path directorio, Piel piel, Publicaciones publicaciones) {
+
+        this.directorio = directorio;
+        this.piel = piel;
+        this.publicaciones = publicaciones;
+
+        /* su documento se abre recién cuando las páginas quedaron escritas */
+        indice = new Documentacion(piel);
+    }
+
+    /* un Tipo llamado como el índice no lo pisa, tampoco donde no se distinguen mayúsculas: el guión no es válido en Java */
+    public static String paginaDe(String tipo) {
+
+        return (INDICE.equalsIgnoreCase(tipo + ".html") ? tipo + "-tipo" : tipo) + ".html";
+    }
+
+    public void usarCache(CacheDeFragmentos cache) {
+
+        this.cache = cache;
+    }
+
+    /* cada página lleva su propia copia del estilo en lugar de enlazar la hoja compartida */
+    public void incluirEstilo() {
+
+        estiloIncluido = true;
+    }
+
+    @Override
+    public void escribirDocumento(List<Tipo> tipos) {
+
+        String hojaDeEstilo = estiloIncluido ? null : piel.publicarEstiloEn(directorio, publicaciones);
+        /* la búsqueda siempre se enlaza: copiarla en cada página las haría tan pesadas como el documento único */
+        String indiceDeBusqueda = IndiceDeBusqueda.de(tipos).publicarEn(directorio, true, publicaciones);
+        String buscador = piel.publicarBuscadorEn(directorio, publicaciones);
+
+        /* el pool común limita cuántas páginas quedan abiertas a la vez */
+        List<CompletableFuture<Void>> pendientes = tipos.stream()
+                .map(unTipo -> CompletableFuture.runAsync(() -> escribirPagina(unTipo, hojaDeEstilo, indiceDeBusqueda, buscador),
+                        ForkJoinPool.commonPool()))
+                .collect(Collectors.toList());
+
+        /* si falla una página el índice no se abre: el anterior, si había, queda como estaba */
+        CompletableFuture.allOf(pendientes.toArray(new CompletableFuture<?>[0])).join();
+
+        indice.usarSalida(Salida.hacia(directorio.resolve(INDICE).toString(), publicaciones));
+
+        try {
+
+            indice.enlazarEstilo(hojaDeEstilo);
+            indice.enlazarBusqueda(indiceDeBusqueda, buscador);
+            indice.escribirIndice(tipos);
+
+        } catch (RuntimeException e) {
+
+            indice.descartar();
+
+            throw e;
+        }
+    }
+
+    private void escribirPagina(Tipo unTipo, String hojaDeEstilo, String indiceDeBusqueda, String buscador) {
+
+        Documentacion pagina = new Documentacion(Salida.hacia(directorio.resolve(paginaDe(unTipo.nombre())).toString(), publicaciones), piel);
+        pagina.enlazarEntrePaginas();
+        pagina.compartirHeredadosCon(indice);
+        pagina.enlazarEstilo(hojaDeEstilo);
+        pagina.enlazarBusqueda(indiceDeBusqueda, buscador);
+
+        if (cache != null) {
+
+            pagina.usarCache(cache);
+        }
+
+        try {
+
+            pagina.escribirPagina(INDICE, unTipo);
+
+        } catch (RuntimeException e) {
+
+            pagina.descartar();
+
+            throw e;
+        }
+    }
+}
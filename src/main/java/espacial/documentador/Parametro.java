@@ -0,0 +1,24 @@
+package espacial.documentador;
+
+public class Parametro {
+
+    private final String tipo;
+
+    private final String nombre;
+
+    public Parametro(String tipo, String nombre) {
+
+        this.tipo = tipo;
+        this.nombre = nombre;
+    }
+
+    public String tipo() {
+
+        return tipo;
+    }
+
+    public String nombre() {
+
+        return nombre;
+    }
+}
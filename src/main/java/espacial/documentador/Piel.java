@@ -0,0 +1,220 @@
+package espacial.documentador;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Piel {
+
+    private static final String PROPIEDAD = "documentador.piel";
+
+    private static final String PREDETERMINADA = "esqueleto";
+
+    private static final String ESTILO = "estilo.css";
+
+    private static final String BUSCADOR = "buscador.js";
+
+    /* todas las plantillas que puede pedir Documentacion: la predeterminada las define a todas */
+    private static final List<String> PLANTILLAS = Arrays.asList(
+            "busqueda", "busqueda-enlazada", "busqueda-incluida", "codigo", "condicion", "constructores", "descripcion",
+            "encabezado", "encabezado-pagina", "enlace", "enlace-a-codigo", "entrada", "estilo-enlazado", "estilo-incluido",
+            "fin-lista-de-tipos", "fin-operacion", "fin-valores", "heredados", "lista-de-tipos", "metodos", "navegacion",
+            "operacion", "operacion-heredada", "parametro", "pie", "presentacion", "tipo", "titulo", "valor", "valores");
+
+    private static final Map<String, Piel> CARGADAS = new ConcurrentHashMap<>();
+
+    private final String nombre;
+
+    private final Path directorio;
+
+    private final Map<String, Plantilla> plantillas = new ConcurrentHashMap<>();
+
+    private volatile String estilo;
+
+    private volatile String buscador;
+
+    private Piel(String nombre, Path directorio) {
+
+        this.nombre = nombre;
+        this.directorio = directorio;
+    }
+
+    public static Piel predeterminada() {
+
+        return llamada(System.getProperty(PROPIEDAD, PREDETERMINADA));
+    }
+
+    /*
+     * puede ser una piel incluida o un directorio: lo que no defina se toma de la predeterminada; sólo se conservan
+     * las incluidas, porque las plantillas de un directorio pueden cambiar mientras la JVM sigue viva
+     */
+    public static Piel llamada(String nombre) {
+
+        Path directorio = Paths.get(nombre);
+
+        if (Files.isDirectory(directorio)) {
+
+            return new Piel(nombre, directorio);
+        }
+
+        return CARGADAS.computeIfAbsent(nombre, Piel::cargar);
+    }
+
+    private static Piel cargar(String nombre) {
+
+        if (Piel.class.getResource(recurso(nombre, ESTILO)) == null) {
+
+            throw new IllegalArgumentException(String.format("No existe la piel '%s'", nombre));
+        }
+
+        return new Piel(nombre, null);
+    }
+
+    public String nombre() {
+
+        return nombre;
+    }
+
+    /* los huecos, en el orden en que quien escribe entrega sus valores */
+    public Plantilla plantilla(String nombre, String... huecos) {
+
+        return plantillas.computeIfAbsent(nombre, conNombre -> compilar(conNombre, huecos));
+    }
+
+    private Plantilla compilar(String nombre, String... huecos) {
+
+        try {
+
+            return Plantilla.compilar(leer(nombre + ".html"), huecos);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new IllegalArgumentException(String.format("La plantilla '%s' de la piel '%s' no es válida: %s",
+                    nombre, this.nombre, e.getMessage()), e);
+        }
+    }
+
+    /* la hoja de la predeterminada seguida de las reglas propias de la piel, que pueden redefinir las anteriores */
+    public String estilo() {
+
+        if (estilo == null) {
+
+            String base = leerIncluida(PREDETERMINADA, ESTILO).trim();
+            String propio = directorio == null && PREDETERMINADA.equals(nombre) ? null : leerPropio(ESTILO);
+
+            estilo = propio == null || propio.trim().isEmpty() ? base : base + "\n\n" + propio.trim();
+        }
+
+        return estilo;
+    }
+
+    public String buscador() {
+
+        if (buscador == null) {
+
+            buscador = leer(BUSCADOR).trim();
+        }
+
+        return buscador;
+    }
+
+    public String hojaDeEstilo() {
+
+        return Salida.nombrePublicado("estilo", ".css", estilo());
+    }
+
+    public String publicarEstiloEn(Path directorio, Publicaciones publicaciones) {
+
+        return Salida.publicar(directorio, "estilo", ".css", estilo(), publicaciones);
+    }
+
+    public String publicarBuscadorEn(Path directorio, Publicaciones publicaciones) {
+
+        return Salida.publicar(directorio, "buscador", ".js", buscador(), publicaciones);
+    }
+
+    /* las fuentes de todas las plantillas, compiladas o no: no depende de cuáles se pidieron antes */
+    public String huella() {
+
+        Huella huella = new Huella().agregar(nombre).agregar(estilo());
+
+        for (String plantilla : PLANTILLAS) {
+
+            huella.agregar(plantilla).agregar(leer(plantilla + ".html"));
+        }
+
+        return huella.calcular();
+    }
+
+    private String leer(String archivo) {
+
+        String propio = leerPropio(archivo);
+
+        return propio != null ? propio : leerIncluida(PREDETERMINADA, archivo);
+    }
+
+    /* null si la piel no lo define */
+    private String leerPropio(String archivo) {
+
+        try {
+
+            if (directorio != null) {
+
+                return Files.isRegularFile(directorio.resolve(archivo))
+                        ? new String(Files.readAllBytes(directorio.resolve(archivo)), StandardCharsets.UTF_8) : null;
+            }
+
+            return Piel.class.getResource(recurso(nombre, archivo)) != null ? leerIncluida(nombre, archivo) : null;
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible leer '%s' de la piel '%s'", archivo, nombre), e);
+        }
+    }
+
+    private String leerIncluida(String piel, String archivo) {
+
+        InputStream entrada = Piel.class.getResourceAsStream(recurso(piel, archivo));
+
+        if (entrada == null) {
+
+            throw new IllegalArgumentException(String.format("La piel '%s' no define '%s'", nombre, archivo));
+        }
+
+        try (InputStream contenido = entrada) {
+
+            return leerTodo(contenido);
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible leer '%s' de la piel '%s'", archivo, nombre), e);
+        }
+    }
+
+    private static String recurso(String piel, String archivo) {
+
+        return "pieles/" + piel + "/" + archivo;
+    }
+
+    private static String leerTodo(InputStream entrada) throws IOException {
+
+        ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+        byte[] bloque = new byte[8192];
+        int leidos;
+
+        while ((leidos = entrada.read(bloque)) > 0) {
+
+            contenido.write(bloque, 0, leidos);
+        }
+
+        return new String(contenido.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+package espacial.documentador;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class Plantilla {
+
+    private static final String INICIO_HUECO = "{{";
+
+    private static final String FIN_HUECO = "}}";
+
+    private static final String INICIO_HUECO_CRUDO = "{{{";
+
+    private static final String FIN_HUECO_CRUDO = "}}}";
+
+    public interface Hueco {
+
+        void escribirEn(Salida salida);
+    }
+
+    private final byte[][] partes;
+
+    private final boolean[] crudos;
+
+    /* el valor que completa cada hueco: su posición entre los nombres que espera quien escribe */
+    private final int[] valores;
+
+    private final int esperados;
+
+    private Plantilla(byte[][] partes, boolean[] crudos, int[] valores, int esperados) {
+
+        this.partes = partes;
+        this.crudos = crudos;
+        this.valores = valores;
+        this.esperados = esperados;
+    }
+
+    /* los huecos se completan en el orden en que aparecen */
+    public static Plantilla compilar(String texto) {
+
+        return compilarConNombres(texto, null);
+    }
+
+    /*
+     * cada hueco se completa con el valor de su nombre, que se reciben en el orden de nombres: la plantilla puede
+     * reordenarlos, repetirlos u omitirlos, pero no usar otros
+     */
+    public static Plantilla compilar(String texto, String... nombres) {
+
+        return compilarConNombres(texto, Arrays.asList(nombres));
+    }
+
+    /* sin nombres esperados, cada hueco toma el valor de su posición */
+    private static Plantilla compilarConNombres(String texto, List<String> esperados) {
+
+        List<byte[]> partes = new ArrayList<>();
+        List<Boolean> crudos = new ArrayList<>();
+        List<Integer> valores = new ArrayList<>();
+
+        String contenido = texto.replace("\r\n", "\n").replace("\n", System.lineSeparator());
+        int desde = 0;
+        int inicio;
+
+        while ((inicio = contenido.indexOf(INICIO_HUECO, desde)) >= 0) {
+
+            /* {{valor}} se escribe como texto escapado y {{{valor}}} tal cual */
+            boolean crudo = contenido.startsWith(INICIO_HUECO_CRUDO, inicio);
+            String cierre = crudo ? FIN_HUECO_CRUDO : FIN_HUECO;
+            int fin = contenido.indexOf(cierre, inicio);
+
+            if (fin < 0) {
+
+                throw new IllegalArgumentException(String.format("Hueco sin cerrar en la posición %d", inicio));
+            }
+
+            String nombre = contenido.substring(inicio + (crudo ? INICIO_HUECO_CRUDO : INICIO_HUECO).length(), fin).trim();
+
+            if (esperados == null) {
+
+                valores.add(valores.size());
+
+            } else if (esperados.contains(nombre)) {
+
+                valores.add(esperados.indexOf(nombre));
+
+            } else {
+
+                throw new IllegalArgumentException(String.format("La plantilla usa el hueco '%s', que no es ninguno de [%s]",
+                        nombre, String.join(", ", esperados)));
+            }
+
+            partes.add(codificar(contenido.substring(desde, inicio)));
+            crudos.add(crudo);
+            desde = fin + cierre.length();
+        }
+
+        partes.add(codificar(contenido.substring(desde)));
+
+        boolean[] huecosCrudos = new boolean[crudos.size()];
+        int[] valorDeCadaHueco = new int[valores.size()];
+
+        for (int i = 0; i < huecosCrudos.length; i++) {
+
+            huecosCrudos[i] = crudos.get(i);
+            valorDeCadaHueco[i] = valores.get(i);
+        }
+
+        return new Plantilla(partes.toArray(new byte[0][]), huecosCrudos, valorDeCadaHueco,
+                esperados == null ? valores.size() : esperados.size());
+    }
+
+    private static byte[] codificar(String texto) {
+
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int huecos() {
+
+        return partes.length - 1;
+    }
+
+    public void escribirEn(Salida salida, String... valores) {
+
+        comprobarCantidad(valores.length);
+
+        salida.escribir(partes[0]);
+
+        for (int i = 0; i < huecos(); i++) {
+
+            if (crudos[i]) {
+
+                salida.escribir(valores[this.valores[i]]);
+
+            } else {
+
+                salida.escribirTextoHtml(valores[this.valores[i]]);
+            }
+
+            salida.escribir(partes[i + 1]);
+        }
+    }
+
+    /* cada hueco escribe su propio contenido y decide cómo escaparlo */
+    public void componerEn(Salida salida, Hueco... contenidos) {
+
+        comprobarCantidad(contenidos.length);
+
+        salida.escribir(partes[0]);
+
+        for (int i = 0; i < huecos(); i++) {
+
+            contenidos[valores[i]].escribirEn(salida);
+            salida.escribir(partes[i + 1]);
+        }
+    }
+
+    private void comprobarCantidad(int valores) {
+
+        if (valores != esperados) {
+
+            throw new IllegalArgumentException(
+                    String.format("La plantilla espera %d valores y recibió %d", esperados, valores));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* los documentos de una ejecución que cambiaron: los demás quedaron intactos, con su fecha de modificación */
+public class Publicaciones {
+
+    public static final String MANIFIESTO = "manifiesto.json";
+
+    /* en cada directorio, una línea por documento con los recursos que enlazó la última vez, separados por tabuladores */
+    public static final String RECURSOS = ".recursos";
+
+    private final boolean comprimidas;
+
+    private final Queue<Path> modificadas = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger sinCambios = new AtomicInteger();
+
+    /* bytes de los documentos de esta ejecución, hayan cambiado o no */
+    private final AtomicLong escritos = new AtomicLong();
+
+    /* tamaño, tamaño comprimido y huella de cada documento, cuando se comprimen */
+    private final Map<Path, String> descripciones = new ConcurrentHashMap<>();
+
+    /* en cada directorio, los recursos con nombre por contenido que usa esta ejecución */
+    private final Map<Path, Set<String>> recursos = new ConcurrentHashMap<>();
+
+    public Publicaciones() {
+
+        this(false);
+    }
+
+    public Publicaciones(boolean comprimidas) {
+
+        this.comprimidas = comprimidas;
+    }
+
+    /* cada documento se escribe también como .gz, y en su directorio queda un manifiesto */
+    public boolean comprimidas() {
+
+        return comprimidas;
+    }
+
+    public void registrar(Path documento, boolean modificado, long bytes) {
+
+        escritos.addAndGet(bytes);
+
+        if (modificado) {
+
+            modificadas.add(documento);
+
+        } else {
+
+            sinCambios.incrementAndGet();
+        }
+    }
+
+    public void describir(Path documento, long bytes, long comprimidos, String huella) {
+
+        StringBuilder descripcion = new StringBuilder("{\"nombre\":");
+
+        Json.agregarCadena(descripcion, documento.getFileName().toString())
+                .append(",\"bytes\":").append(bytes)
+                .append(",\"gzip\":").append(comprimidos)
+                .append(",\"sha256\":\"").append(huella).append("\"}");
+
+        descripciones.put(documento, descripcion.toString());
+    }
+
+    public void usarRecurso(Path directorio, String nombre) {
+
+        recursos.computeIfAbsent(directorio.toAbsolutePath().normalize(), conRecursos -> ConcurrentHashMap.newKeySet())
+                .add(nombre);
+    }
+
+    /*
+     * borra, con su variante .gz, los recursos que el mismo documento enlazó la ejecución anterior y ésta ya no usa,
+     * salvo que otro documento del directorio los siga enlazando: los demás documentos y sus recursos no se tocan
+     */
+    public int podarRecursos(String documento) {
+
+        int borrados = 0;
+
+        /* las raíces de un lote pueden compartir el directorio */
+        synchronized (Publicaciones.class) {
+
+            for (Map.Entry<Path, Set<String>> delDirectorio : recursos.entrySet()) {
+
+                Path directorio = delDirectorio.getKey();
+                Path registro = directorio.resolve(RECURSOS);
+
+                try {
+
+                    Map<String, Set<String>> porDocumento = leerRecursos(registro);
+                    Set<String> anteriores = porDocumento.getOrDefault(documento, Collections.emptySet());
+                    porDocumento.put(documento, new TreeSet<>(delDirectorio.getValue()));
+
+                    Set<String> enlazados = new HashSet<>();
+                    porDocumento.values().forEach(enlazados::addAll);
+
+                    for (String anterior : anteriores) {
+
+                        if (!enlazados.contains(anterior)) {
+
+                            borrados += Files.deleteIfExists(directorio.resolve(anterior)) ? 1 : 0;
+                            borrados += Files.deleteIfExists(directorio.resolve(anterior + ".gz")) ? 1 : 0;
+                        }
+                    }
+
+                    escribirRecursos(registro, porDocumento);
+
+                } catch (IOException | RuntimeException e) {
+
+                    throw new RuntimeException(String.format("No fue posible borrar los recursos anteriores de '%s'",
+                            directorio), e);
+                }
+            }
+        }
+
+        return borrados;
+    }
+
+    private static Map<String, Set<String>> leerRecursos(Path registro) throws IOException {
+
+        Map<String, Set<String>> porDocumento = new TreeMap<>();
+
+        if (Files.isRegularFile(registro)) {
+
+            for (String linea : Files.readAllLines(registro, StandardCharsets.UTF_8)) {
+
+                List<String> nombres = Arrays.asList(linea.split("\t"));
+
+                if (!linea.isEmpty()) {
+
+                    porDocumento.put(nombres.get(0), new TreeSet<>(nombres.subList(1, nombres.size())));
+                }
+            }
+        }
+
+        return porDocumento;
+    }
+
+    private static void escribirRecursos(Path registro, Map<String, Set<String>> porDocumento) {
+
+        Salida salida = Salida.hacia(registro.toString());
+
+        porDocumento.forEach((documento, nombres) ->
+                salida.escribir(documento).escribir(nombres.isEmpty() ? "" : "\t" + String.join("\t", nombres)).terminarLinea());
+
+        salida.cerrar();
+    }
+
+    public List<Path> modificadas() {
+
+        return new ArrayList<>(modificadas);
+    }
+
+    public int sinCambios() {
+
+        return sinCambios.get();
+    }
+
+    public long escritos() {
+
+        return escritos.get();
+    }
+
+    public int total() {
+
+        return modificadas.size() + sinCambios.get();
+    }
+
+    /* un manifiesto por directorio con los documentos de esta ejecución, ordenados por nombre */
+    public void escribirManifiestos() {
+
+        Map<Path, Map<Path, String>> porDirectorio = new TreeMap<>();
+
+        descripciones.forEach((documento, descripcion) ->
+                porDirectorio.computeIfAbsent(documento.getParent(), directorio -> new TreeMap<>()).put(documento, descripcion));
+
+        porDirectorio.forEach((directorio, delDirectorio) -> {
+
+            Salida manifiesto = Salida.hacia(directorio.resolve(MANIFIESTO).toString());
+            manifiesto.escribir("{\"documentos\":[");
+
+            int numero = 0;
+
+            for (String descripcion : delDirectorio.values()) {
+
+                manifiesto.escribir(numero++ > 0 ? "," : "").terminarLinea().escribir(descripcion);
+            }
+
+            manifiesto.terminarLinea().escribir("]}").terminarLinea().cerrar();
+        });
+    }
+}
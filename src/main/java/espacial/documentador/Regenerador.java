@@ -0,0 +1,45 @@
+package espacial.documentador;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class Regenerador {
+
+    private static final String SALIDA = "./contratos.html";
+
+    public static void main(String[] argumentos) {
+
+        if (argumentos.length < 1 || argumentos.length > 2) {
+
+            System.err.println("Uso: Regenerador <instantánea> [<documento>]");
+            System.exit(1);
+        }
+
+        long inicio = System.nanoTime();
+
+        List<Tipo> tipos = Instantanea.leer(Paths.get(argumentos[0]));
+        String documento = argumentos.length > 1 ? argumentos[1] : SALIDA;
+
+        escribir(tipos, documento, Piel.predeterminada());
+
+        System.out.printf("%d tipos regenerados en %d ms%n", tipos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /* el documento único con la hoja de estilo y la búsqueda publicadas a su lado */
+    static void escribir(List<Tipo> tipos, String documento, Piel piel) {
+
+        Path directorio = Paths.get(documento).toAbsolutePath().getParent();
+
+        Publicaciones publicaciones = new Publicaciones();
+
+        Documentacion documentacion = new Documentacion(Salida.hacia(documento), piel);
+        documentacion.enlazarEstilo(piel.publicarEstiloEn(directorio, publicaciones));
+        documentacion.enlazarBusqueda(IndiceDeBusqueda.de(tipos).publicarEn(directorio, false, publicaciones),
+                piel.publicarBuscadorEn(directorio, publicaciones));
+        documentacion.escribirDocumento(tipos);
+
+        /* en modo vigilante cada cambio de la API publica otra búsqueda */
+        publicaciones.podarRecursos(Paths.get(documento).getFileName().toString());
+    }
+}
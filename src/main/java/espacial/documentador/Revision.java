@@ -0,0 +1,143 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * revisa los contratos del modelo que ya se extrajo, sin volver a ejecutar javadoc: cada Tipo se revisa por separado,
+ * y sólo las prioridades repetidas necesitan ver a todos
+ */
+public class Revision {
+
+    private final List<Hallazgo> hallazgos = new ArrayList<>();
+
+    /* los Tipos de cada prioridad, en el orden del documento */
+    private final Map<String, List<String>> porPrioridad = new LinkedHashMap<>();
+
+    public static Revision de(List<Tipo> tipos) {
+
+        Revision revision = new Revision();
+        List<List<Hallazgo>> porTipo = tipos.parallelStream().map(Revision::revisar).collect(Collectors.toList());
+
+        for (int i = 0; i < tipos.size(); i++) {
+
+            revision.agregar(tipos.get(i), porTipo.get(i));
+        }
+
+        return revision;
+    }
+
+    /* para los Tipos que llegan de a uno, como en el volcado */
+    public void agregar(Tipo tipo) {
+
+        agregar(tipo, revisar(tipo));
+    }
+
+    private void agregar(Tipo tipo, List<Hallazgo> delTipo) {
+
+        hallazgos.addAll(delTipo);
+
+        if (!tipo.prioridad().isEmpty()) {
+
+            porPrioridad.computeIfAbsent(tipo.prioridad(), prioridad -> new ArrayList<>()).add(tipo.nombre());
+        }
+    }
+
+    static List<Hallazgo> revisar(Tipo tipo) {
+
+        List<Hallazgo> hallazgos = new ArrayList<>();
+
+        if (tipo.prioridad().isEmpty()) {
+
+            hallazgos.add(Hallazgo.advertencia("prioridad-faltante", tipo.nombre(), null,
+                    "no tiene @prioridad: su lugar en el documento depende del orden de las fuentes"));
+        }
+
+        tipo.constructores().forEach(constructor -> revisar(tipo, constructor, hallazgos));
+        tipo.metodos().forEach(metodo -> revisar(tipo, metodo, hallazgos));
+
+        return hallazgos;
+    }
+
+    private static void revisar(Tipo tipo, Operacion operacion, List<Hallazgo> hallazgos) {
+
+        Set<String> parametros = operacion.parametros().stream().map(Parametro::nombre).collect(Collectors.toSet());
+        Set<String> documentados = new HashSet<>();
+        boolean conPost = false;
+
+        for (Condicion condicion : operacion.contrato()) {
+
+            if (condicion.clase() == Condicion.Clase.POST) {
+
+                conPost = true;
+
+            } else if (condicion.clase() == Condicion.Clase.PARAMETRO) {
+
+                if (!parametros.contains(condicion.nombre())) {
+
+                    hallazgos.add(Hallazgo.error("parametro-desconocido", tipo.nombre(), operacion.ancla(),
+                            String.format("@param '%s' no corresponde a ningún parámetro", condicion.nombre())));
+
+                } else if (!documentados.add(condicion.nombre())) {
+
+                    hallazgos.add(Hallazgo.error("parametro-repetido", tipo.nombre(), operacion.ancla(),
+                            String.format("@param '%s' está documentado más de una vez", condicion.nombre())));
+                }
+            }
+        }
+
+        for (Parametro parametro : operacion.parametros()) {
+
+            if (!documentados.contains(parametro.nombre())) {
+
+                hallazgos.add(Hallazgo.advertencia("parametro-sin-documentar", tipo.nombre(), operacion.ancla(),
+                        String.format("el parámetro '%s' no tiene @param", parametro.nombre())));
+            }
+        }
+
+        /* los constructores pueden ser el implícito, que no tiene comentario */
+        if (!conPost && !operacion.esConstructor()) {
+
+            hallazgos.add(Hallazgo.advertencia("post-faltante", tipo.nombre(), operacion.ancla(), "no tiene @post"));
+        }
+    }
+
+    /* los de cada Tipo y, al final, los Tipos que repiten una prioridad ya usada */
+    public List<Hallazgo> hallazgos() {
+
+        List<Hallazgo> todos = new ArrayList<>(hallazgos);
+
+        porPrioridad.forEach((prioridad, tipos) -> {
+
+            for (String tipo : tipos.subList(1, tipos.size())) {
+
+                todos.add(Hallazgo.error("prioridad-repetida", tipo, null, String.format(
+                        "comparte la @prioridad '%s' con %s: su orden depende del orden de las fuentes", prioridad, tipos.get(0))));
+            }
+        });
+
+        return todos;
+    }
+
+    public void escribirEn(Salida archivo) {
+
+        List<Hallazgo> todos = hallazgos();
+        long errores = todos.stream().filter(Hallazgo::esError).count();
+
+        archivo.escribir(String.format("{\"errores\":%d,\"advertencias\":%d,\"hallazgos\":[", errores, todos.size() - errores));
+
+        for (int i = 0; i < todos.size(); i++) {
+
+            StringBuilder json = new StringBuilder(i > 0 ? "," : "");
+            archivo.terminarLinea().escribir(todos.get(i).agregarComoJson(json).toString());
+        }
+
+        archivo.terminarLinea().escribir("]}").terminarLinea();
+        archivo.cerrar();
+    }
+}
@@ -0,0 +1,526 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+public class Salida {
+
+    private static final int CAPACIDAD = 64 * 1024;
+
+    private static final byte[] FIN_DE_LINEA = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] AMPERSAND = "&amp;".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] MENOR = "&lt;".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] MAYOR = "&gt;".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] COMILLAS = "&quot;".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] APOSTROFO = "&#39;".getBytes(StandardCharsets.UTF_8);
+
+    private static final AtomicLong TEMPORALES = new AtomicLong();
+
+    /* ventana para comparar documentos grandes sin mapearlos enteros */
+    private static final long VENTANA = 64L * 1024 * 1024;
+
+    private final WritableByteChannel canal;
+
+    private final byte[] bytes;
+
+    private final ByteBuffer buffer;
+
+    private int posicion;
+
+    private Path destino;
+
+    private Path temporal;
+
+    private Publicaciones publicaciones;
+
+    private boolean modificado;
+
+    /* variante comprimida que se escribe a la par del documento, y la huella de su contenido */
+    private Path temporalComprimido;
+
+    private FileChannel canalComprimido;
+
+    private GZIPOutputStream comprimido;
+
+    private Huella huella;
+
+    public Salida(WritableByteChannel canal) {
+
+        this(canal, CAPACIDAD);
+    }
+
+    public Salida(WritableByteChannel canal, int capacidad) {
+
+        this.canal = canal;
+        bytes = new byte[Math.max(capacidad, 6)];
+        buffer = ByteBuffer.wrap(bytes);
+    }
+
+    public static Salida hacia(String conRuta) {
+
+        return hacia(conRuta, null);
+    }
+
+    /*
+     * se escribe en un temporal junto al documento y al cerrar sólo reemplaza al documento si su contenido cambió:
+     * quien lo lee nunca ve un documento a medias y uno idéntico conserva su fecha de modificación
+     */
+    public static Salida hacia(String conRuta, Publicaciones publicaciones) {
+
+        try {
+
+            Path ruta = Paths.get(conRuta).toAbsolutePath();
+            Files.createDirectories(ruta.getParent());
+
+            Path temporal = ruta.resolveSibling(
+                    "." + ruta.getFileName() + "." + ProcessHandle.current().pid() + "." + TEMPORALES.incrementAndGet() + ".tmp");
+
+            Salida salida = new Salida(FileChannel.open(temporal,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW));
+            salida.destino = ruta;
+            salida.temporal = temporal;
+            salida.publicaciones = publicaciones;
+
+            if (publicaciones != null && publicaciones.comprimidas()) {
+
+                salida.comprimir();
+            }
+
+            return salida;
+
+        } catch (Exception e) {
+
+            throw new RuntimeException(String.format("No fue posible abrir el archivo '%s'", conRuta), e);
+        }
+    }
+
+    /* cada bloque que se escribe se comprime con el nivel máximo y se agrega a la huella: el documento no se vuelve a leer */
+    private void comprimir() throws IOException {
+
+        temporalComprimido = temporal.resolveSibling(temporal.getFileName() + ".gz");
+        canalComprimido = FileChannel.open(temporalComprimido,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+        comprimido = new GZIPOutputStream(Channels.newOutputStream(canalComprimido), CAPACIDAD) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        };
+        huella = new Huella();
+    }
+
+    /* el nombre depende del contenido: el navegador puede conservar el archivo indefinidamente */
+    public static String nombrePublicado(String prefijo, String extension, String contenido) {
+
+        return prefijo + "." + new Huella().agregar(contenido).calcular().substring(0, 16) + extension;
+    }
+
+    /*
+     * con publicaciones, el recurso se publica como cualquier documento, con su .gz y en el manifiesto si se comprime,
+     * y al terminar la ejecución se borran las versiones que el documento enlazaba antes y ya no
+     */
+    public static String publicar(Path directorio, String prefijo, String extension, String contenido,
+                                  Publicaciones publicaciones) {
+
+        String nombre = nombrePublicado(prefijo, extension, contenido);
+        Path archivo = directorio.resolve(nombre);
+
+        try {
+
+            if (publicaciones != null) {
+
+                publicaciones.usarRecurso(directorio, nombre);
+                hacia(archivo.toString(), publicaciones).escribir(contenido).terminarLinea().cerrar();
+
+            } else if (!Files.isRegularFile(archivo)) {
+
+                hacia(archivo.toString()).escribir(contenido).terminarLinea().cerrar();
+            }
+
+        } catch (RuntimeException e) {
+
+            throw new RuntimeException(String.format("No fue posible publicar '%s'", archivo), e);
+        }
+
+        return nombre;
+    }
+
+    public Salida escribir(String texto) {
+
+        int longitud = texto.length();
+        int i = 0;
+
+        while (i < longitud) {
+
+            if (bytes.length - posicion < 4) {
+
+                vaciar();
+            }
+
+            i = codificar(texto, i, longitud);
+        }
+
+        return this;
+    }
+
+    /* en una sola pasada: une los espacios y saltos de línea consecutivos y escapa los caracteres especiales de HTML */
+    public Salida escribirTextoHtml(String texto) {
+
+        int longitud = texto.length();
+        boolean espacio = false;
+        int i = 0;
+
+        while (i < longitud) {
+
+            if (bytes.length - posicion < 6) {
+
+                vaciar();
+            }
+
+            char caracter = texto.charAt(i);
+
+            if (caracter == ' ' || caracter == '\n' || caracter == '\r' || caracter == '\t') {
+
+                if (!espacio) {
+
+                    bytes[posicion++] = ' ';
+                    espacio = true;
+                }
+
+                i++;
+                continue;
+            }
+
+            espacio = false;
+
+            switch (caracter) {
+
+                case '&':
+                    posicion = copiar(AMPERSAND, posicion);
+                    i++;
+                    break;
+
+                case '<':
+                    posicion = copiar(MENOR, posicion);
+                    i++;
+                    break;
+
+                case '>':
+                    posicion = copiar(MAYOR, posicion);
+                    i++;
+                    break;
+
+                case '"':
+                    posicion = copiar(COMILLAS, posicion);
+                    i++;
+                    break;
+
+                case '\'':
+                    posicion = copiar(APOSTROFO, posicion);
+                    i++;
+                    break;
+
+                default:
+                    i = codificar(texto, i, longitud);
+            }
+        }
+
+        return this;
+    }
+
+    private int copiar(byte[] escape, int desde) {
+
+        System.arraycopy(escape, 0, bytes, desde, escape.length);
+
+        return desde + escape.length;
+    }
+
+    private int codificar(String texto, int i, int longitud) {
+
+        char caracter = texto.charAt(i);
+
+        if (caracter < 0x80) {
+
+            bytes[posicion++] = (byte) caracter;
+
+        } else if (caracter < 0x800) {
+
+            bytes[posicion++] = (byte) (0xC0 | (caracter >> 6));
+            bytes[posicion++] = (byte) (0x80 | (caracter & 0x3F));
+
+        } else if (Character.isHighSurrogate(caracter) && i + 1 < longitud
+                && Character.isLowSurrogate(texto.charAt(i + 1))) {
+
+            int codigo = Character.toCodePoint(caracter, texto.charAt(++i));
+            bytes[posicion++] = (byte) (0xF0 | (codigo >> 18));
+            bytes[posicion++] = (byte) (0x80 | ((codigo >> 12) & 0x3F));
+            bytes[posicion++] = (byte) (0x80 | ((codigo >> 6) & 0x3F));
+            bytes[posicion++] = (byte) (0x80 | (codigo & 0x3F));
+
+        } else if (Character.isSurrogate(caracter)) {
+
+            /* un surrogate sin su par no es representable en UTF-8 */
+            bytes[posicion++] = (byte) '?';
+
+        } else {
+
+            bytes[posicion++] = (byte) (0xE0 | (caracter >> 12));
+            bytes[posicion++] = (byte) (0x80 | ((caracter >> 6) & 0x3F));
+            bytes[posicion++] = (byte) (0x80 | (caracter & 0x3F));
+        }
+
+        return i + 1;
+    }
+
+    public Salida escribir(byte[] contenido) {
+
+        int desde = 0;
+
+        while (desde < contenido.length) {
+
+            if (posicion == bytes.length) {
+
+                vaciar();
+            }
+
+            int cantidad = Math.min(contenido.length - desde, bytes.length - posicion);
+            System.arraycopy(contenido, desde, bytes, posicion, cantidad);
+            posicion += cantidad;
+            desde += cantidad;
+        }
+
+        return this;
+    }
+
+    /* lo acumulado se escribe primero; el resto pasa de canal a canal sin copiarse al heap */
+    public Salida transferirDesde(FileChannel origen) throws IOException {
+
+        return transferirDesde(origen, 0, origen.size());
+    }
+
+    public Salida transferirDesde(FileChannel origen, long desde, long cantidad) throws IOException {
+
+        vaciar();
+
+        if (comprimido != null) {
+
+            /* lo que se comprime tiene que pasar por el buffer */
+            return copiarDesde(origen, desde, cantidad);
+        }
+
+        long transferidos = 0;
+
+        while (transferidos < cantidad) {
+
+            transferidos += origen.transferTo(desde + transferidos, cantidad - transferidos, canal);
+        }
+
+        return this;
+    }
+
+    private Salida copiarDesde(FileChannel origen, long desde, long cantidad) throws IOException {
+
+        long copiados = 0;
+
+        while (copiados < cantidad) {
+
+            buffer.limit((int) Math.min(bytes.length, cantidad - copiados)).position(0);
+
+            while (buffer.hasRemaining()) {
+
+                if (origen.read(buffer, desde + copiados + buffer.position()) < 0) {
+
+                    throw new IOException("El origen terminó antes de lo indicado");
+                }
+            }
+
+            posicion = buffer.limit();
+            copiados += posicion;
+            vaciar();
+        }
+
+        return this;
+    }
+
+    public Salida terminarLinea() {
+
+        return escribir(FIN_DE_LINEA);
+    }
+
+    /* si no pudo publicarse, se descarta: no quedan canales abiertos ni temporales */
+    public void cerrar() {
+
+        try {
+
+            vaciar();
+
+            if (comprimido != null) {
+
+                comprimido.finish();
+            }
+
+            if (temporal != null) {
+
+                publicar();
+            }
+
+            canal.close();
+
+        } catch (IOException | RuntimeException e) {
+
+            try {
+
+                descartar();
+
+            } catch (RuntimeException alDescartar) {
+
+                e.addSuppressed(alDescartar);
+            }
+
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException("No fue posible cerrar la salida", e);
+        }
+    }
+
+    /* cierra sin publicar: se borran los temporales y el documento anterior, si había, queda como estaba */
+    public void descartar() {
+
+        try {
+
+            canal.close();
+
+            if (canalComprimido != null) {
+
+                canalComprimido.close();
+            }
+
+            if (temporal != null) {
+
+                Files.deleteIfExists(temporal);
+            }
+
+            if (temporalComprimido != null) {
+
+                Files.deleteIfExists(temporalComprimido);
+            }
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible descartar '%s'", temporal), e);
+        }
+    }
+
+    /* falso si el documento ya tenía exactamente este contenido */
+    public boolean modificado() {
+
+        return modificado;
+    }
+
+    private void publicar() throws IOException {
+
+        FileChannel escrito = (FileChannel) canal;
+
+        if (comprimido != null) {
+
+            Path destinoComprimido = destino.resolveSibling(destino.getFileName() + ".gz");
+
+            /* la variante comprimida se publica antes que el documento cambie para quien la sirve */
+            publicar(canalComprimido, temporalComprimido, destinoComprimido);
+            publicaciones.describir(destino, escrito.size(), canalComprimido.size(), huella.calcular());
+            comprimido.close();
+        }
+
+        modificado = publicar(escrito, temporal, destino);
+
+        if (publicaciones != null) {
+
+            publicaciones.registrar(destino, modificado, escrito.size());
+        }
+    }
+
+    private static boolean publicar(FileChannel escrito, Path temporal, Path destino) throws IOException {
+
+        boolean modificado = !mismoContenido(escrito, destino);
+
+        if (modificado) {
+
+            escrito.force(false);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } else {
+
+            Files.delete(temporal);
+        }
+
+        return modificado;
+    }
+
+    /* se comparan los archivos mapeados: ninguno de los dos pasa por el heap */
+    private static boolean mismoContenido(FileChannel escrito, Path destino) throws IOException {
+
+        if (!Files.isRegularFile(destino) || Files.size(destino) != escrito.size()) {
+
+            return false;
+        }
+
+        try (FileChannel anterior = FileChannel.open(destino, StandardOpenOption.READ)) {
+
+            long tamanio = escrito.size();
+
+            for (long desde = 0; desde < tamanio; desde += VENTANA) {
+
+                long cantidad = Math.min(VENTANA, tamanio - desde);
+                MappedByteBuffer nuevo = escrito.map(FileChannel.MapMode.READ_ONLY, desde, cantidad);
+
+                if (nuevo.mismatch(anterior.map(FileChannel.MapMode.READ_ONLY, desde, cantidad)) >= 0) {
+
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void vaciar() {
+
+        try {
+
+            buffer.limit(posicion).position(0);
+
+            while (buffer.hasRemaining()) {
+
+                canal.write(buffer);
+            }
+
+            if (comprimido != null) {
+
+                comprimido.write(bytes, 0, posicion);
+                huella.agregar(bytes, 0, posicion);
+            }
+
+            buffer.clear();
+            posicion = 0;
+
+        } catch (IOException e) {
+
+            throw new RuntimeException("No fue posible escribir la salida", e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Texto {
+
+    private static final Texto VACIO = new Texto(Collections.emptyList());
+
+    private final List<Fragmento> fragmentos;
+
+    private Texto(List<Fragmento> fragmentos) {
+
+        this.fragmentos = fragmentos;
+    }
+
+    public static Texto vacio() {
+
+        return VACIO;
+    }
+
+    public static Texto plano(String contenido) {
+
+        return contenido.isEmpty() ? VACIO : new Texto(Collections.singletonList(Fragmento.texto(contenido)));
+    }
+
+    public static Texto con(List<Fragmento> fragmentos) {
+
+        return fragmentos.isEmpty() ? VACIO : new Texto(Collections.unmodifiableList(new ArrayList<>(fragmentos)));
+    }
+
+    public List<Fragmento> fragmentos() {
+
+        return fragmentos;
+    }
+
+    public boolean esVacio() {
+
+        return fragmentos.isEmpty();
+    }
+
+    /* el contenido sin marcas, tal como se leería en el comentario */
+    public String contenido() {
+
+        if (fragmentos.size() == 1) {
+
+            return fragmentos.get(0).contenido();
+        }
+
+        StringBuilder contenido = new StringBuilder();
+
+        for (Fragmento fragmento : fragmentos) {
+
+            contenido.append(fragmento.contenido());
+        }
+
+        return contenido.toString();
+    }
+
+    /* el contenido en una línea: sin espacios al principio ni al final y con los consecutivos unidos, en una sola pasada */
+    public String unido() {
+
+        return unido(contenido());
+    }
+
+    public static String unido(String texto) {
+
+        StringBuilder unido = new StringBuilder(texto.length());
+        boolean espacio = false;
+
+        for (int i = 0; i < texto.length(); i++) {
+
+            char caracter = texto.charAt(i);
+
+            if (Character.isWhitespace(caracter)) {
+
+                espacio = unido.length() > 0;
+                continue;
+            }
+
+            if (espacio) {
+
+                unido.append(' ');
+                espacio = false;
+            }
+
+            unido.append(caracter);
+        }
+
+        return unido.toString();
+    }
+
+    public Huella agregarA(Huella huella) {
+
+        huella.agregar(fragmentos.size());
+
+        for (Fragmento fragmento : fragmentos) {
+
+            huella.agregar(fragmento.clase().name())
+                    .agregar(fragmento.contenido())
+                    .agregar(fragmento.destino())
+                    .agregar(fragmento.ancla());
+        }
+
+        return huella;
+    }
+}
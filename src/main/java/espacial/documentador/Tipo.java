@@ -0,0 +1,159 @@
+package espacial.documentador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Tipo {
+
+    private final String nombre;
+
+    private final String prioridad;
+
+    private final Texto descripcion;
+
+    private final boolean enumerado;
+
+    private final List<String> valores;
+
+    private final List<Operacion> constructores;
+
+    private final List<Operacion> metodos;
+
+    private final List<Herencia> heredados;
+
+    private Tipo(String nombre, String prioridad, Texto descripcion, boolean enumerado,
+                 List<String> valores, List<Operacion> constructores, List<Operacion> metodos, List<Herencia> heredados) {
+
+        this.nombre = nombre;
+        this.prioridad = prioridad;
+        this.descripcion = descripcion;
+        this.enumerado = enumerado;
+        this.valores = Collections.unmodifiableList(new ArrayList<>(valores));
+        this.constructores = Collections.unmodifiableList(new ArrayList<>(constructores));
+        this.metodos = Collections.unmodifiableList(new ArrayList<>(metodos));
+        this.heredados = Collections.unmodifiableList(new ArrayList<>(heredados));
+    }
+
+    public static Tipo enumerado(String nombre, String prioridad, Texto descripcion, List<String> valores) {
+
+        return new Tipo(nombre, prioridad, descripcion, true,
+                valores, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    public static Tipo clase(String nombre, String prioridad, Texto descripcion,
+                             List<Operacion> constructores, List<Operacion> metodos) {
+
+        return clase(nombre, prioridad, descripcion, constructores, metodos, Collections.emptyList());
+    }
+
+    /* los heredados van del ancestro más cercano al más lejano, sin los métodos que redefine un descendiente */
+    public static Tipo clase(String nombre, String prioridad, Texto descripcion,
+                             List<Operacion> constructores, List<Operacion> metodos, List<Herencia> heredados) {
+
+        return new Tipo(nombre, prioridad, descripcion, false,
+                Collections.emptyList(), constructores, metodos, heredados);
+    }
+
+    public String nombre() {
+
+        return nombre;
+    }
+
+    public String prioridad() {
+
+        return prioridad;
+    }
+
+    public Texto descripcion() {
+
+        return descripcion;
+    }
+
+    public boolean esEnumerado() {
+
+        return enumerado;
+    }
+
+    public List<String> valores() {
+
+        return valores;
+    }
+
+    public List<Operacion> constructores() {
+
+        return constructores;
+    }
+
+    public List<Operacion> metodos() {
+
+        return metodos;
+    }
+
+    public List<Herencia> heredados() {
+
+        return heredados;
+    }
+
+    public String ancla() {
+
+        return nombre;
+    }
+
+    public static String anclaDe(String tipo, String miembro) {
+
+        return tipo + "." + miembro;
+    }
+
+    public String huella() {
+
+        Huella huella = new Huella()
+                .agregar(nombre)
+                .agregar(prioridad);
+
+        descripcion.agregarA(huella)
+                .agregar(enumerado ? 1 : 0)
+                .agregar(valores.size());
+
+        for (String valor : valores) {
+
+            huella.agregar(valor);
+        }
+
+        agregarA(huella, constructores);
+        agregarA(huella, metodos);
+
+        huella.agregar(heredados.size());
+
+        for (Herencia herencia : heredados) {
+
+            agregarA(huella.agregar(herencia.tipo()), herencia.metodos());
+        }
+
+        return huella.calcular();
+    }
+
+    private static void agregarA(Huella huella, List<Operacion> operaciones) {
+
+        huella.agregar(operaciones.size());
+
+        for (Operacion operacion : operaciones) {
+
+            huella.agregar(operacion.retorno())
+                    .agregar(operacion.nombre())
+                    .agregar(operacion.parametros().size());
+
+            for (Parametro parametro : operacion.parametros()) {
+
+                huella.agregar(parametro.tipo()).agregar(parametro.nombre());
+            }
+
+            huella.agregar(operacion.contrato().size());
+
+            for (Condicion condicion : operacion.contrato()) {
+
+                condicion.texto().agregarA(huella.agregar(condicion.clase().name()).agregar(condicion.nombre()));
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package espacial.documentador;
+
+import javax.tools.DocumentationTool;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * regenera la documentación cada vez que cambian las fuentes, sin salir de la JVM: javadoc, el doclet y las
+ * plantillas ya están cargados y compilados, y sólo se vuelven a analizar los archivos que cambiaron
+ */
+public class Vigilante {
+
+    private static final String SALIDA = "./contratos.html";
+
+    /* los editores guardan en varios pasos: se espera este silencio antes de regenerar */
+    private static final long PAUSA = 150;
+
+    private final Path fuentes;
+
+    private final String documento;
+
+    private final DocumentationTool javadoc = ToolProvider.getSystemDocumentationTool();
+
+    private final StandardJavaFileManager archivos = javadoc.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+
+    private final Map<Path, List<Tipo>> modelo = new TreeMap<>();
+
+    /* los supertipos documentados de cada Tipo del modelo, directos o no */
+    private final Map<String, Set<String>> ancestros = new HashMap<>();
+
+    /* la de la última regeneración: cuánto tardó javadoc en analizar las fuentes */
+    private Medicion medicion = new Medicion();
+
+    private WatchService servicio;
+
+    public Vigilante(Path fuentes, String documento) {
+
+        this.fuentes = fuentes.toAbsolutePath().normalize();
+        this.documento = documento;
+    }
+
+    public static void main(String[] argumentos) {
+
+        if (argumentos.length < 1 || argumentos.length > 2) {
+
+            System.err.println("Uso: Vigilante <directorio de fuentes> [<documento>]");
+            System.exit(1);
+        }
+
+        Vigilante vigilante = new Vigilante(Paths.get(argumentos[0]), argumentos.length > 1 ? argumentos[1] : SALIDA);
+
+        long inicio = System.nanoTime();
+        vigilante.regenerarTodo();
+        System.out.printf("%d tipos documentados en %d ms (javadoc: %d ms), vigilando %s%n",
+                vigilante.tipos().size(), (System.nanoTime() - inicio) / 1_000_000, vigilante.milisegundosDeJavadoc(),
+                vigilante.fuentes);
+
+        vigilante.vigilar();
+    }
+
+    public void regenerarTodo() {
+
+        medicion = new Medicion();
+        modelo.clear();
+        ancestros.clear();
+        extraer(fuentesJava());
+        escribir();
+    }
+
+    /* si falla, el modelo vuelve a ser el último que se pudo extraer y el documento queda como estaba */
+    public void regenerar(Set<Path> cambiados) {
+
+        Map<Path, List<Tipo>> anterior = new TreeMap<>(modelo);
+        Map<String, Set<String>> ancestrosAnteriores = new HashMap<>(ancestros);
+        medicion = new Medicion();
+
+        try {
+
+            actualizar(cambiados);
+
+        } catch (RuntimeException e) {
+
+            modelo.clear();
+            modelo.putAll(anterior);
+            ancestros.clear();
+            ancestros.putAll(ancestrosAnteriores);
+
+            throw e;
+        }
+    }
+
+    /* si cambiaron las anclas, los {@link} de los demás archivos pueden apuntar a otro lado: se extrae todo */
+    private void actualizar(Set<Path> cambiados) {
+
+        Set<String> anclasAnteriores = anclas();
+        Set<Path> existentes = new HashSet<>();
+
+        for (Path archivo : cambiados) {
+
+            Path normalizado = archivo.toAbsolutePath().normalize();
+
+            if (Files.isRegularFile(normalizado)) {
+
+                existentes.add(normalizado);
+
+            } else {
+
+                modelo.remove(normalizado);
+            }
+        }
+
+        extraer(conDescendientes(existentes));
+
+        if (!anclas().equals(anclasAnteriores)) {
+
+            modelo.clear();
+            ancestros.clear();
+            extraer(fuentesJava());
+        }
+
+        escribir();
+    }
+
+    /* los subtipos, directos o no, repiten los contratos que heredan: se extraen de nuevo junto con sus ancestros */
+    private Set<Path> conDescendientes(Set<Path> cambiados) {
+
+        Set<String> modificados = new HashSet<>();
+        Set<Path> extraidos = new HashSet<>(cambiados);
+
+        cambiados.forEach(archivo -> modelo.getOrDefault(archivo, Collections.emptyList())
+                .forEach(tipo -> modificados.add(tipo.nombre())));
+
+        /* también los nietos de un ancestro sin métodos propios: no lo nombran entre sus heredados */
+        modelo.forEach((archivo, delArchivo) -> {
+
+            for (Tipo tipo : delArchivo) {
+
+                if (!Collections.disjoint(ancestros.getOrDefault(tipo.nombre(), Collections.emptySet()), modificados)) {
+
+                    extraidos.add(archivo);
+                }
+            }
+        });
+
+        return extraidos;
+    }
+
+    public Medicion medicion() {
+
+        return medicion;
+    }
+
+    /* si sólo se borraron archivos, javadoc no se ejecutó */
+    private long milisegundosDeJavadoc() {
+
+        return Math.max(medicion.analisis(), 0) / 1_000_000;
+    }
+
+    public List<Tipo> tipos() {
+
+        /* los de igual prioridad quedan ordenados por la ruta de su fuente, como con javadoc *.java, y dentro de cada fuente en orden de declaración */
+        List<Tipo> tipos = new ArrayList<>();
+
+        modelo.values().forEach(tipos::addAll);
+        tipos.sort(Comparator.comparing(Tipo::prioridad));
+
+        return tipos;
+    }
+
+    public void vigilar() {
+
+        try {
+
+            servicio = fuentes.getFileSystem().newWatchService();
+            registrarDirectorios(fuentes);
+
+            /* los archivos de una regeneración que falló se vuelven a extraer con el próximo cambio */
+            Set<Path> pendientes = new HashSet<>();
+
+            while (true) {
+
+                Set<Path> cambiados = new HashSet<>();
+                WatchKey clave = servicio.take();
+
+                while (clave != null) {
+
+                    recolectar(clave, cambiados);
+                    clave = servicio.poll(PAUSA, TimeUnit.MILLISECONDS);
+                }
+
+                if (!cambiados.isEmpty()) {
+
+                    cambiados.addAll(pendientes);
+                    long inicio = System.nanoTime();
+
+                    try {
+
+                        regenerar(cambiados);
+                        pendientes.clear();
+                        System.out.printf("%d archivos modificados, documentación regenerada en %d ms (javadoc: %d ms)%n",
+                                cambiados.size(), (System.nanoTime() - inicio) / 1_000_000, milisegundosDeJavadoc());
+
+                    } catch (RuntimeException e) {
+
+                        pendientes.addAll(cambiados);
+                        informar(e);
+                    }
+                }
+            }
+
+        } catch (ClosedWatchServiceException e) {
+
+            /* detener() cerró el servicio */
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible vigilar '%s'", fuentes), e);
+        }
+    }
+
+    private static void informar(RuntimeException error) {
+
+        System.err.println("No fue posible regenerar la documentación, se conserva la anterior:");
+
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+
+            System.err.println(causa.getMessage());
+        }
+    }
+
+    public void detener() {
+
+        try {
+
+            if (servicio != null) {
+
+                servicio.close();
+            }
+
+            archivos.close();
+
+        } catch (IOException e) {
+
+            throw new RuntimeException("No fue posible detener la vigilancia", e);
+        }
+    }
+
+    private void recolectar(WatchKey clave, Set<Path> cambiados) throws IOException {
+
+        Path directorio = (Path) clave.watchable();
+
+        for (WatchEvent<?> evento : clave.pollEvents()) {
+
+            if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+
+                /* se perdieron eventos: se vuelve a extraer todo */
+                cambiados.addAll(modelo.keySet());
+                cambiados.addAll(fuentesJava());
+                continue;
+            }
+
+            Path cambiado = directorio.resolve((Path) evento.context());
+
+            if (Files.isDirectory(cambiado)) {
+
+                registrarDirectorios(cambiado);
+                cambiados.addAll(fuentesJava(cambiado));
+
+            } else if (cambiado.toString().endsWith(".java")) {
+
+                cambiados.add(cambiado);
+            }
+        }
+
+        clave.reset();
+    }
+
+    private void registrarDirectorios(Path desde) throws IOException {
+
+        try (Stream<Path> directorios = Files.walk(desde)) {
+
+            for (Path directorio : directorios.filter(Files::isDirectory).collect(Collectors.toList())) {
+
+                directorio.register(servicio, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private void extraer(Set<Path> cambiados) {
+
+        if (cambiados.isEmpty()) {
+
+            return;
+        }
+
+        List<Tipo> conocidos = new ArrayList<>();
+
+        modelo.forEach((archivo, delArchivo) -> {
+
+            if (!cambiados.contains(archivo)) {
+
+                conocidos.addAll(delArchivo);
+            }
+        });
+
+        Map<Path, List<Tipo>> extraidos = JavaDoc.extract(javadoc, archivos, fuentes, cambiados, conocidos, medicion, ancestros);
+
+        for (Path archivo : cambiados) {
+
+            modelo.put(archivo, extraidos.getOrDefault(archivo, Collections.emptyList()));
+        }
+    }
+
+    private void escribir() {
+
+        /* se vuelve a pedir en cada escritura: la piel puede ser un directorio cuyas plantillas se están editando */
+        Regenerador.escribir(tipos(), documento, Piel.predeterminada());
+    }
+
+    private Set<String> anclas() {
+
+        Set<String> anclas = new HashSet<>();
+
+        for (List<Tipo> delArchivo : modelo.values()) {
+
+            for (Tipo tipo : delArchivo) {
+
+                anclas.add(tipo.ancla());
+                tipo.valores().forEach(valor -> anclas.add(Tipo.anclaDe(tipo.nombre(), valor)));
+                tipo.constructores().forEach(constructor -> anclas.add(Tipo.anclaDe(tipo.nombre(), constructor.ancla())));
+                tipo.metodos().forEach(metodo -> anclas.add(Tipo.anclaDe(tipo.nombre(), metodo.ancla())));
+            }
+        }
+
+        return anclas;
+    }
+
+    private Set<Path> fuentesJava() {
+
+        return fuentesJava(fuentes);
+    }
+
+    private Set<Path> fuentesJava(Path desde) {
+
+        try (Stream<Path> recorrido = Files.walk(desde)) {
+
+            return recorrido.filter(archivo -> archivo.toString().endsWith(".java") && Files.isRegularFile(archivo))
+                    .map(archivo -> archivo.toAbsolutePath().normalize())
+                    .collect(Collectors.toSet());
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible recorrer '%s'", desde), e);
+        }
+    }
+}
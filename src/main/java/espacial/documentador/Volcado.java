@@ -0,0 +1,182 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * fragmentos ya renderizados, agrupados por prioridad en archivos temporales: el documento se arma copiándolos en orden,
+ * y los de una misma prioridad quedan en el orden en que se agregaron
+ */
+public class Volcado {
+
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    /* con una prioridad por Tipo podría haber miles de archivos: sólo los usados más recientemente quedan abiertos */
+    private static final int ABIERTOS_MAXIMOS = 64;
+
+    private final Path directorio;
+
+    private final Map<String, Path> archivos = new TreeMap<>();
+
+    private final Map<String, FileChannel> abiertos = new LinkedHashMap<String, FileChannel>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileChannel> masAntiguo) {
+
+            if (size() > ABIERTOS_MAXIMOS) {
+
+                cerrar(masAntiguo.getValue());
+                return true;
+            }
+
+            return false;
+        }
+    };
+
+    private int fragmentos;
+
+    private long bytes;
+
+    private final long memoriaInicial;
+
+    private long memoriaMaxima;
+
+    public Volcado(Path enDirectorio) {
+
+        try {
+
+            Files.createDirectories(enDirectorio);
+            directorio = Files.createTempDirectory(enDirectorio, "volcado");
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible crear el volcado en '%s'", enDirectorio), e);
+        }
+
+        memoriaInicial = MEMORIA.getHeapMemoryUsage().getUsed();
+        memoriaMaxima = memoriaInicial;
+    }
+
+    public void agregar(String prioridad, byte[] fragmento) {
+
+        FileChannel canal = abiertos.computeIfAbsent(prioridad, this::abrir);
+
+        try {
+
+            ByteBuffer contenido = ByteBuffer.wrap(fragmento);
+
+            while (contenido.hasRemaining()) {
+
+                canal.write(contenido);
+            }
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible volcar el fragmento en '%s'", archivos.get(prioridad)), e);
+        }
+
+        fragmentos++;
+        bytes += fragmento.length;
+
+        /* se muestrea al volcar cada Tipo, sin tocar los máximos que la JVM lleva para todo el proceso */
+        memoriaMaxima = Math.max(memoriaMaxima, MEMORIA.getHeapMemoryUsage().getUsed());
+    }
+
+    private FileChannel abrir(String prioridad) {
+
+        Path archivo = archivos.computeIfAbsent(prioridad, nueva -> directorio.resolve(archivos.size() + ".html"));
+
+        try {
+
+            return FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible abrir el volcado '%s'", archivo), e);
+        }
+    }
+
+    public void transferirA(Salida salida) {
+
+        cerrar();
+
+        for (Path archivo : archivos.values()) {
+
+            try (FileChannel origen = FileChannel.open(archivo, StandardOpenOption.READ)) {
+
+                salida.transferirDesde(origen);
+
+            } catch (IOException e) {
+
+                throw new RuntimeException(String.format("No fue posible leer el volcado '%s'", archivo), e);
+            }
+        }
+    }
+
+    private void cerrar() {
+
+        abiertos.values().forEach(Volcado::cerrar);
+        abiertos.clear();
+    }
+
+    private static void cerrar(FileChannel canal) {
+
+        try {
+
+            canal.close();
+
+        } catch (IOException e) {
+
+            throw new RuntimeException("No fue posible cerrar un archivo del volcado", e);
+        }
+    }
+
+    public void borrar() {
+
+        try {
+
+            cerrar();
+
+            for (Path archivo : archivos.values()) {
+
+                Files.deleteIfExists(archivo);
+            }
+
+            Files.deleteIfExists(directorio);
+
+        } catch (IOException e) {
+
+            throw new RuntimeException(String.format("No fue posible borrar el volcado '%s'", directorio), e);
+        }
+    }
+
+    public int fragmentos() {
+
+        return fragmentos;
+    }
+
+    public int archivos() {
+
+        return archivos.size();
+    }
+
+    public long bytes() {
+
+        return bytes;
+    }
+
+    /* cuánto creció el heap en uso desde que empezó el volcado, según lo que se vio al volcar cada Tipo */
+    public long memoriaMaxima() {
+
+        return Math.max(0, memoriaMaxima - memoriaInicial);
+    }
+}
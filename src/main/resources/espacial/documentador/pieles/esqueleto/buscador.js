@@ -0,0 +1,116 @@
+(function () {
+
+    var indice = window.indiceDeBusqueda;
+    var campo = document.getElementById("busqueda");
+    var resultados = document.getElementById("resultados");
+    var MAXIMO = 20;
+    var CLASES = {t: "Tipo", c: "constructor", m: "método", v: "valor"};
+
+    if (!indice || !campo || !resultados) {
+        return;
+    }
+
+    /* las listas vienen como diferencias entre números consecutivos */
+    function decodificar(lista) {
+        if (lista.decodificada) {
+            return lista;
+        }
+        for (var i = 1; i < lista.length; i++) {
+            lista[i] += lista[i - 1];
+        }
+        lista.decodificada = true;
+        return lista;
+    }
+
+    function interseccion(a, b) {
+        var resultado = [];
+        var i = 0;
+        var j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] === b[j]) {
+                resultado.push(a[i]);
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    function palabrasCon(termino) {
+        if (termino.length < 3) {
+            return indice.g.hasOwnProperty(termino) ? decodificar(indice.g[termino]) : [];
+        }
+        var palabras = null;
+        for (var i = 0; i + 3 <= termino.length; i++) {
+            var grama = termino.substr(i, 3);
+            if (!indice.g.hasOwnProperty(grama)) {
+                return [];
+            }
+            palabras = palabras === null ? decodificar(indice.g[grama]) : interseccion(palabras, decodificar(indice.g[grama]));
+        }
+        return palabras.filter(function (palabra) {
+            return indice.p[palabra].indexOf(termino) >= 0;
+        });
+    }
+
+    function buscar(consulta) {
+        var terminos = consulta.toLowerCase().split(/[\s.,;:#()\[\]]+/).filter(function (termino) {
+            return termino.length > 0;
+        });
+        if (terminos.length === 0) {
+            return [];
+        }
+        /* el término más largo elige los candidatos; los demás se buscan en el nombre completo */
+        var principal = terminos.reduce(function (a, b) {
+            return b.length > a.length ? b : a;
+        });
+        var vistas = {};
+        var encontradas = [];
+        palabrasCon(principal).forEach(function (palabra) {
+            decodificar(indice.w[palabra]).forEach(function (entrada) {
+                if (!vistas[entrada]) {
+                    vistas[entrada] = true;
+                    encontradas.push(entrada);
+                }
+            });
+        });
+        return encontradas.filter(function (entrada) {
+            var nombre = indice.e[entrada].substring(1).toLowerCase();
+            return terminos.every(function (termino) {
+                return nombre.indexOf(termino) >= 0;
+            });
+        }).sort(function (a, b) {
+            return indice.e[a].length - indice.e[b].length || a - b;
+        }).slice(0, MAXIMO);
+    }
+
+    /* como Paginas.paginaDe: un Tipo llamado indice no pisa al índice */
+    function paginaDe(tipo) {
+        return (tipo.toLowerCase() === "indice" ? tipo + "-tipo" : tipo) + ".html";
+    }
+
+    function mostrar(entradas) {
+        while (resultados.firstChild) {
+            resultados.removeChild(resultados.firstChild);
+        }
+        entradas.forEach(function (entrada) {
+            var ancla = indice.e[entrada].substring(1);
+            var tipo = ancla.split(".")[0];
+            var enlace = document.createElement("a");
+            enlace.href = (indice.paginas ? paginaDe(tipo) : "") + "#" + ancla;
+            enlace.textContent = ancla;
+            var elemento = document.createElement("li");
+            elemento.appendChild(enlace);
+            elemento.appendChild(document.createTextNode(" " + CLASES[indice.e[entrada].charAt(0)]));
+            resultados.appendChild(elemento);
+        });
+    }
+
+    campo.addEventListener("input", function () {
+        mostrar(buscar(campo.value));
+    });
+})();
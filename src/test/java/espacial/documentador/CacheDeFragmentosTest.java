@@ -0,0 +1,172 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CacheDeFragmentosTest {
+
+    private static final String RUTA_BASE = "./target/test-result/cache/";
+
+    private Path directorio;
+
+    @BeforeEach
+    void limpiarDirectorio(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName());
+
+        if (Files.exists(directorio)) {
+
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+
+                archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void reutilizarTiposSinCambios() {
+
+        Tipo nave = tipoLlamado("Nave", "Vehículo espacial");
+
+        usarCache(nave);
+        CacheDeFragmentos cache = usarCache(nave);
+
+        assertThat(cache.reutilizados()).isEqualTo(1);
+        assertThat(cache.renderizados()).isZero();
+    }
+
+    @Test
+    void renderizarTiposModificados() {
+
+        usarCache(tipoLlamado("Nave", "Vehículo espacial"));
+        CacheDeFragmentos cache = usarCache(tipoLlamado("Nave", "Vehículo espacial que avanza"));
+
+        assertThat(cache.reutilizados()).isZero();
+        assertThat(cache.renderizados()).isEqualTo(1);
+    }
+
+    @Test
+    void compactarElAlmacenCuandoVencenSusFragmentos() throws IOException {
+
+        usarCache(tipoLlamado("Nave", "Vehículo espacial"), tipoLlamado("Base", "Depósito de sustancias"));
+        CacheDeFragmentos cache = usarCache(tipoLlamado("Nave", "Vehículo espacial"));
+
+        assertThat(cache.compactada()).isTrue();
+
+        try (Stream<Path> almacenes = Files.list(directorio)) {
+
+            assertThat(almacenes.filter(archivo -> archivo.toString().endsWith(".dat")))
+                    .hasSize(1)
+                    .allSatisfy(almacen -> assertThat(almacen).hasBinaryContent(bytes("Nave")));
+        }
+
+        assertThat(usarCache(tipoLlamado("Nave", "Vehículo espacial")).reutilizados()).isEqualTo(1);
+    }
+
+    @Test
+    void transferirFragmentosDelAlmacen() throws IOException {
+
+        usarCache(tipoLlamado("Nave", "Vehículo espacial"), tipoLlamado("Base", "Depósito de sustancias"));
+
+        CacheDeFragmentos cache = CacheDeFragmentos.en(directorio, Piel.predeterminada());
+        String base = cache.preparar(tipoLlamado("Base", "Depósito de sustancias"), conTipo -> bytes("otro"));
+        String nave = cache.preparar(tipoLlamado("Nave", "Vehículo espacial"), conTipo -> bytes("otro"));
+
+        Path documento = directorio.resolve("documento.html");
+        Salida salida = Salida.hacia(documento.toString());
+        cache.transferirA(salida.escribir("<"), base);
+        cache.transferirA(salida.escribir(","), nave);
+        salida.escribir(">").cerrar();
+        cache.guardar();
+
+        assertThat(documento).hasBinaryContent(bytes("<Base,Nave>"));
+        assertThat(cache.reutilizados()).isEqualTo(2);
+    }
+
+    @Test
+    void renderizarUnaSolaVezElMismoTipoPedidoDesdeVariosHilos() {
+
+        CacheDeFragmentos cache = CacheDeFragmentos.en(directorio, Piel.predeterminada());
+        Tipo nave = tipoLlamado("Nave", "Vehículo espacial");
+
+        List<String> huellas = IntStream.range(0, 16).parallel()
+                .mapToObj(hilo -> cache.preparar(nave, conTipo -> {
+
+                    try {
+
+                        Thread.sleep(50);
+
+                    } catch (InterruptedException e) {
+
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return bytes(conTipo.nombre());
+                }))
+                .collect(Collectors.toList());
+
+        cache.guardar();
+
+        assertThat(huellas).containsOnly(nave.huella());
+        assertThat(cache.renderizados()).isEqualTo(1);
+        assertThat(cache.reutilizados()).isEqualTo(15);
+    }
+
+    @Test
+    void calcularLaHuellaDeLaPielSinImportarQuePlantillasSeCompilaron() throws IOException {
+
+        Path propia = directorio.resolve("piel");
+        Files.createDirectories(propia);
+        Files.write(propia.resolve("operacion.html"), bytes("<pre id=\"{{ancla}}\">{{{codigo}}}</pre>"));
+
+        String sinCompilar = Piel.llamada(propia.toString()).huella();
+        Piel compilada = Piel.llamada(propia.toString());
+        compilada.plantilla("operacion", "ancla", "codigo");
+
+        assertThat(compilada.huella()).isEqualTo(sinCompilar);
+
+        /* una plantilla que nadie compiló todavía también cuenta */
+        Files.write(propia.resolve("pie.html"), bytes("</body>"));
+
+        assertThat(Piel.llamada(propia.toString()).huella()).isNotEqualTo(sinCompilar);
+    }
+
+    private CacheDeFragmentos usarCache(Tipo... tipos) {
+
+        CacheDeFragmentos cache = CacheDeFragmentos.en(directorio, Piel.predeterminada());
+
+        for (Tipo tipo : tipos) {
+
+            cache.obtener(tipo, conTipo -> bytes(conTipo.nombre()));
+        }
+
+        cache.guardar();
+
+        return cache;
+    }
+
+    private static byte[] bytes(String texto) {
+
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Tipo tipoLlamado(String nombre, String descripcion) {
+
+        return Tipo.clase(nombre, "", Texto.plano(descripcion), Collections.emptyList(), Collections.emptyList());
+    }
+}
@@ -7,9 +7,12 @@ import org.junit.jupiter.api.TestInfo;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,6 +41,33 @@ class DocumentacionTest {
         comprobarQueLaDocumentacionFueGenerada();
     }
 
+    @Test
+    void escribirEncabezadoConElEstiloIncluido() throws IOException {
+
+        dadoQueFueCreadaLaDocumentacion();
+
+        documentacion.escribirEncabezado();
+        documentacion.terminar();
+
+        assertThat(contenido())
+                .contains("<style type=\"text/css\">\n" + Piel.predeterminada().estilo() + "\n</style>")
+                .doesNotContain("<link");
+    }
+
+    @Test
+    void escribirEncabezadoConLaHojaDeEstiloEnlazada() throws IOException {
+
+        dadoQueFueCreadaLaDocumentacion();
+
+        documentacion.enlazarEstilo("estilo.0123456789abcdef.css");
+        documentacion.escribirEncabezado();
+        documentacion.terminar();
+
+        assertThat(contenido())
+                .contains("<link rel=\"stylesheet\" href=\"estilo.0123456789abcdef.css\"/>")
+                .doesNotContain("<style");
+    }
+
     @Test
     void escribirTitulo() {
 
@@ -57,7 +87,7 @@ class DocumentacionTest {
         documentacion.escribirTipo("TipoEspacial");
         documentacion.terminar();
 
-        comprobarQueContiene("<hr></hr>","<h3>Tipo</h3>","<pre><code>TipoEspacial</code></pre>");
+        comprobarQueContiene("<hr></hr>","<h3 id=\"TipoEspacial\">Tipo</h3>","<pre><code>TipoEspacial</code></pre>");
     }
 
     @Test
@@ -65,7 +95,7 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirDescripcion("Vehículo espacial que...");
+        documentacion.escribirDescripcion(Texto.plano("Vehículo espacial que..."));
         documentacion.terminar();
 
         comprobarQueContiene("<h4>Descripción</h4>","<p>Vehículo espacial que...</p>");
@@ -76,12 +106,12 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirConstructor("Base(String nombre, int cantidad)");
+        documentacion.escribirConstructor("Base.Base(String,int)", "Base(String nombre, int cantidad)");
         documentacion.terminar();
 
         comprobarQueContiene(
                 "<h4>Constructores</h4>",
-                "<div class=\"row\">",
+                "<div class=\"row\" id=\"Base.Base(String,int)\">",
                 "<div class=\"one column\">&nbsp;</div>",
                 "<div class=\"eleven columns\">",
                 "<pre><code>Base(String nombre, int cantidad)</code></pre>",
@@ -94,12 +124,12 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirMetodo("void cargarDesdeEste(Sustancia sustancia, int cantidad)");
+        documentacion.escribirMetodo("Nave.cargarDesdeEste(Sustancia,int)", "void cargarDesdeEste(Sustancia sustancia, int cantidad)");
         documentacion.terminar();
 
         comprobarQueContiene(
                 "<h4>Métodos</h4>",
-                "<div class=\"row\">",
+                "<div class=\"row\" id=\"Nave.cargarDesdeEste(Sustancia,int)\">",
                 "<div class=\"one column\">&nbsp;</div>",
                 "<div class=\"eleven columns\">",
                 "<pre><code>void cargarDesdeEste(Sustancia sustancia, int cantidad)</code></pre>",
@@ -112,19 +142,19 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirConstructor("Base(String nombre, int cantidad)");
-        documentacion.escribirConstructor("Base(String nombre)");
+        documentacion.escribirConstructor("Base.Base(String,int)", "Base(String nombre, int cantidad)");
+        documentacion.escribirConstructor("Base.Base(String)", "Base(String nombre)");
         documentacion.terminar();
 
         comprobarQueContiene(
                 "<h4>Constructores</h4>",
-                "<div class=\"row\">",
+                "<div class=\"row\" id=\"Base.Base(String,int)\">",
                 "<div class=\"one column\">&nbsp;</div>",
                 "<div class=\"eleven columns\">",
                 "<pre><code>Base(String nombre, int cantidad)</code></pre>",
                 "</div>",
                 "</div>",
-                "<div class=\"row\">",
+                "<div class=\"row\" id=\"Base.Base(String)\">",
                 "<div class=\"one column\">&nbsp;</div>",
                 "<div class=\"eleven columns\">",
                 "<pre><code>Base(String nombre)</code></pre>",
@@ -138,7 +168,7 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirPre("fue creada la BatallaEspacial");
+        documentacion.escribirPre(Texto.plano("fue creada la BatallaEspacial"));
         documentacion.terminar();
 
         comprobarQueContiene(
@@ -149,12 +179,28 @@ class DocumentacionTest {
                 "</div>");
     }
 
+    @Test
+    void escribirPreConCaracteresEspeciales() {
+
+        dadoQueFueCreadaLaDocumentacion();
+
+        documentacion.escribirPre(Texto.plano("la carga es <menor> a 100\n     y la nave está en \"órbita\""));
+        documentacion.terminar();
+
+        comprobarQueContiene(
+                "<div class=\"row\">",
+                "<div class=\"two columns\">&nbsp;</div>",
+                "<div class=\"two columns\"><strong>pre</strong></div>",
+                "<div class=\"eight columns\">la carga es &lt;menor&gt; a 100 y la nave está en &quot;órbita&quot;</div>",
+                "</div>");
+    }
+
     @Test
     void escribirPost() {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirPost("avanza al SUR");
+        documentacion.escribirPost(Texto.plano("avanza al SUR"));
         documentacion.terminar();
 
         comprobarQueContiene(
@@ -170,7 +216,7 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirRetorno("porcentaje comprendido entre [0..100]");
+        documentacion.escribirRetorno(Texto.plano("porcentaje comprendido entre [0..100]"));
         documentacion.terminar();
 
         comprobarQueContiene(
@@ -186,7 +232,7 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirParametro("sustancia", "tipifica la carga");
+        documentacion.escribirParametro("sustancia", Texto.plano("tipifica la carga"));
         documentacion.terminar();
 
         comprobarQueContiene(
@@ -202,27 +248,157 @@ class DocumentacionTest {
 
         dadoQueFueCreadaLaDocumentacion();
 
-        documentacion.escribirValoresEnumerados(Arrays.asList("ANTIMATERIA", "METAL", "CRISTAL"));
+        documentacion.escribirValoresEnumerados("Sustancia", Arrays.asList("ANTIMATERIA", "METAL", "CRISTAL"));
         documentacion.terminar();
 
         comprobarQueContiene(
                 "<h4>Valores</h4>",
                 "<div class=\"row\">",
                 "<div class=\"six columns\">",
-                "<pre><code>ANTIMATERIA</code></pre>",
-                "<pre><code>METAL</code></pre>",
-                "<pre><code>CRISTAL</code></pre>",
+                "<pre id=\"Sustancia.ANTIMATERIA\"><code>ANTIMATERIA</code></pre>",
+                "<pre id=\"Sustancia.METAL\"><code>METAL</code></pre>",
+                "<pre id=\"Sustancia.CRISTAL\"><code>CRISTAL</code></pre>",
                 "</div>",
                 "<div class=\"six columns\">&nbsp;</div>",
                 "</div>"
         );
     }
 
+    @Test
+    void escribirTiposEnOrden() {
+
+        dadoQueFueCreadaLaDocumentacion();
+
+        Tipo nave = Tipo.clase("Nave", "1", Texto.con(Arrays.asList(Fragmento.texto("Vehículo espacial que lleva "),
+                        Fragmento.enlaceACodigo("Sustancia", "Sustancia", "Sustancia"), Fragmento.texto(" con "),
+                        Fragmento.codigo("avanzar()"))), Collections.emptyList(),
+                Collections.singletonList(Operacion.metodo("void", "avanzar", Collections.emptyList(),
+                        Collections.singletonList(Condicion.post(Texto.plano("avanza al NORTE"))))));
+
+        Tipo sustancia = Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL"));
+
+        documentacion.escribirTipos(Arrays.asList(nave, sustancia));
+        documentacion.terminar();
+
+        comprobarQueContiene(
+                "<hr></hr>",
+                "<h3 id=\"Nave\">Tipo</h3>",
+                "<pre><code>Nave</code></pre>",
+                "<h4>Descripción</h4>",
+                "<p>Vehículo espacial que lleva <a href=\"#Sustancia\"><code>Sustancia</code></a> con <code>avanzar()</code></p>",
+                "<h4>Métodos</h4>",
+                "<div class=\"row\" id=\"Nave.avanzar()\">",
+                "<div class=\"one column\">&nbsp;</div>",
+                "<div class=\"eleven columns\">",
+                "<pre><code>void avanzar()</code></pre>",
+                "</div>",
+                "</div>",
+                "<div class=\"row\">",
+                "<div class=\"two columns\">&nbsp;</div>",
+                "<div class=\"two columns\"><strong>post</strong></div>",
+                "<div class=\"eight columns\">avanza al NORTE</div>",
+                "</div>",
+                "<hr></hr>",
+                "<h3 id=\"Sustancia\">Tipo</h3>",
+                "<pre><code>Sustancia</code></pre>",
+                "<h4>Descripción</h4>",
+                "<p>Carga de una Nave</p>",
+                "<h4>Valores</h4>",
+                "<div class=\"row\">",
+                "<div class=\"six columns\">",
+                "<pre id=\"Sustancia.METAL\"><code>METAL</code></pre>",
+                "<pre id=\"Sustancia.CRISTAL\"><code>CRISTAL</code></pre>",
+                "</div>",
+                "<div class=\"six columns\">&nbsp;</div>",
+                "</div>"
+        );
+    }
+
+    @Test
+    void escribirTiposConLaPielCompacta() {
+
+        dadoQueFueCreadaLaDocumentacionConLaPiel("compacta");
+
+        Tipo nave = Tipo.clase("Nave", "1", Texto.plano("Vehículo espacial"), Collections.emptyList(),
+                Arrays.asList(
+                        Operacion.metodo("void", "avanzar", Collections.emptyList(), Collections.emptyList()),
+                        Operacion.metodo("int", "cargar", Collections.singletonList(new Parametro("int", "cantidad")),
+                                Arrays.asList(Condicion.pre(Texto.plano("la nave está en órbita")),
+                                        Condicion.parametro("cantidad", Texto.plano("unidades a cargar")),
+                                        Condicion.retorno(Texto.plano("la carga total"))))));
+
+        Tipo sustancia = Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL"));
+
+        documentacion.escribirTipos(Arrays.asList(nave, sustancia));
+        documentacion.terminar();
+
+        comprobarQueContiene(
+                "<hr></hr>",
+                "<h3 id=\"Nave\">Tipo</h3>",
+                "<pre><code>Nave</code></pre>",
+                "<h4>Descripción</h4>",
+                "<p>Vehículo espacial</p>",
+                "<h4>Métodos</h4>",
+                "<pre class=\"firma\" id=\"Nave.avanzar()\"><code>void avanzar()</code></pre>",
+                "<dl class=\"contrato\"></dl>",
+                "<pre class=\"firma\" id=\"Nave.cargar(int)\"><code>int cargar(int cantidad)</code></pre>",
+                "<dl class=\"contrato\"><dt>pre</dt><dd>la nave está en órbita</dd><dt>param</dt><dd>cantidad: unidades a cargar</dd>"
+                        + "<dt>return</dt><dd>la carga total</dd></dl>",
+                "<hr></hr>",
+                "<h3 id=\"Sustancia\">Tipo</h3>",
+                "<pre><code>Sustancia</code></pre>",
+                "<h4>Descripción</h4>",
+                "<p>Carga de una Nave</p>",
+                "<h4>Valores</h4>",
+                "<ul class=\"valores\"><li id=\"Sustancia.METAL\"><code>METAL</code></li><li id=\"Sustancia.CRISTAL\"><code>CRISTAL</code></li></ul>"
+        );
+    }
+
+    @Test
+    void agregarLaHojaDeEstiloDeCadaPielALaPredeterminada() throws IOException {
+
+        String esqueleto = Piel.llamada("esqueleto").estilo();
+        Path piel = Paths.get(RUTA_BASE, "piel-con-estilo");
+        Files.createDirectories(piel);
+        Files.write(piel.resolve("estilo.css"), "h3{color:red}\n".getBytes(StandardCharsets.UTF_8));
+        Path sinEstilo = Paths.get(RUTA_BASE, "piel-sin-estilo");
+        Files.createDirectories(sinEstilo);
+
+        assertThat(Piel.llamada("compacta").estilo()).startsWith(esqueleto + "\n\n.contrato{").endsWith(".valores{width:48%}}");
+        assertThat(Piel.llamada(piel.toString()).estilo()).isEqualTo(esqueleto + "\n\nh3{color:red}");
+        assertThat(Piel.llamada(sinEstilo.toString()).estilo()).isEqualTo(esqueleto);
+    }
+
+    @Test
+    void escribirConUnaPielQueReordenaLosHuecosYSeVuelveALeer() throws IOException {
+
+        Path piel = Paths.get(RUTA_BASE, "piel-propia");
+        Files.createDirectories(piel);
+        Files.write(piel.resolve("operacion.html"), "<p>{{codigo}} en {{ancla}}</p>".getBytes(StandardCharsets.UTF_8));
+
+        dadoQueFueCreadaLaDocumentacionConLaPiel(piel.toString());
+        documentacion.escribirMetodo("Nave.avanzar()", "void avanzar()");
+        documentacion.terminar();
+
+        assertThat(abrirArchivo()).usingCharset(StandardCharsets.UTF_8).hasContent("<h4>Métodos</h4>\n<p>void avanzar() en Nave.avanzar()</p>");
+
+        Files.write(piel.resolve("operacion.html"), "<p>{{codigo}} en {{firma}}</p>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Piel.llamada(piel.toString()).plantilla("operacion", "ancla", "codigo"))
+                .withMessageContaining("operacion")
+                .withMessageContaining("'firma'");
+    }
+
     private void dadoQueFueCreadaLaDocumentacion() {
 
         documentacion = new Documentacion(ruta);
     }
 
+    private void dadoQueFueCreadaLaDocumentacionConLaPiel(String piel) {
+
+        documentacion = new Documentacion(Salida.hacia(ruta), Piel.llamada(piel));
+    }
+
     private void comprobarQueLaDocumentacionFueGenerada() {
 
         assertThat(abrirArchivo()).exists();
@@ -230,12 +406,17 @@ class DocumentacionTest {
 
     private void comprobarQueContiene(String contenido) {
 
-        assertThat(abrirArchivo()).hasContent(contenido);
+        assertThat(abrirArchivo()).usingCharset(StandardCharsets.UTF_8).hasContent(contenido);
     }
 
     private void comprobarQueContiene(String... lineas) {
 
-        assertThat(abrirArchivo()).hasContent(Stream.of(lineas).collect(Collectors.joining("\n")));
+        assertThat(abrirArchivo()).usingCharset(StandardCharsets.UTF_8).hasContent(Stream.of(lineas).collect(Collectors.joining("\n")));
+    }
+
+    private String contenido() throws IOException {
+
+        return new String(Files.readAllBytes(Paths.get(ruta)), StandardCharsets.UTF_8);
     }
 
     private File abrirArchivo() {
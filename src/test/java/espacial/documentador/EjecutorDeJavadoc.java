@@ -0,0 +1,35 @@
+package espacial.documentador;
+
+import javax.tools.DocumentationTool;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class EjecutorDeJavadoc {
+
+    static void ejecutar(List<Path> fuentes, Path documento, String... opciones) throws IOException {
+
+        DocumentationTool herramienta = ToolProvider.getSystemDocumentationTool();
+        StringWriter mensajes = new StringWriter();
+
+        List<String> argumentos = new ArrayList<>(Arrays.asList("-encoding", "UTF-8", "-quiet", "-salida", documento.toString()));
+        argumentos.addAll(Arrays.asList(opciones));
+
+        try (StandardJavaFileManager archivos = herramienta.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+            Iterable<? extends JavaFileObject> unidades = archivos.getJavaFileObjectsFromPaths(fuentes);
+
+            if (!JavaDoc.call(herramienta.getTask(mensajes, archivos, null, JavaDoc.class, argumentos, unidades))) {
+
+                throw new IllegalStateException("javadoc terminó con errores:\n" + mensajes);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package espacial.documentador;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* mvn test -P escalabilidad [-Descalabilidad.tipos=10,100,1000] */
+@Tag("escalabilidad")
+class EscalabilidadTest {
+
+    private static final Path RUTA_BASE = Paths.get("./target/escalabilidad");
+
+    private static final int METODOS = 20;
+
+    private static final List<String> MEDICIONES = new ArrayList<>();
+
+    private static final List<String> PIELES = new ArrayList<>();
+
+    private static double bytesPorMiembro;
+
+    @BeforeAll
+    static void iniciarMediciones() {
+
+        MEDICIONES.add("tipos,miembros,milisegundos,bytesAsignados,bytesGenerados");
+        PIELES.add("tipos,piel,bytesGenerados,nodos");
+    }
+
+    @AfterAll
+    static void guardarMediciones() throws IOException {
+
+        Files.createDirectories(RUTA_BASE);
+        Files.write(RUTA_BASE.resolve("mediciones.csv"), MEDICIONES, StandardCharsets.UTF_8);
+        Files.write(RUTA_BASE.resolve("pieles.csv"), PIELES, StandardCharsets.UTF_8);
+        MEDICIONES.forEach(System.out::println);
+        PIELES.forEach(System.out::println);
+    }
+
+    static Stream<Integer> tipos() {
+
+        return Arrays.stream(System.getProperty("escalabilidad.tipos", "10,100,1000").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf);
+    }
+
+    @ParameterizedTest
+    @MethodSource("tipos")
+    void documentar(int tipos) throws IOException {
+
+        Path directorio = RUTA_BASE.resolve(String.valueOf(tipos));
+        Path documento = directorio.resolve("contratos.html");
+
+        GeneradorDeCorpus generador = new GeneradorDeCorpus()
+                .conTipos(tipos).conMetodos(METODOS).conEnumerados(Math.max(1, tipos / 10)).conValores(10)
+                .conLineasDeComentario(5);
+        List<Path> fuentes = generador.generarEn(directorio.resolve("fuentes"));
+
+        long asignados = bytesAsignados();
+        long inicio = System.nanoTime();
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento);
+
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        asignados = bytesAsignados() - asignados;
+        long generados = Files.size(documento);
+
+        MEDICIONES.add(String.format("%d,%d,%d,%d,%d", tipos, generador.miembros(), milisegundos, asignados, generados));
+
+        comprobarQueDocumentaTodosLosTipos(documento, tipos);
+        comprobarQueElTamanioCreceLinealmente(generados, generador.miembros());
+    }
+
+    @ParameterizedTest
+    @MethodSource("tipos")
+    void compararPieles(int tipos) throws IOException {
+
+        Path directorio = RUTA_BASE.resolve("pieles").resolve(String.valueOf(tipos));
+
+        List<Path> fuentes = new GeneradorDeCorpus()
+                .conTipos(tipos).conMetodos(METODOS).conEnumerados(Math.max(1, tipos / 10)).conValores(10)
+                .conLineasDeComentario(5)
+                .generarEn(directorio.resolve("fuentes"));
+
+        long[] esqueleto = documentarConLaPiel(tipos, fuentes, directorio, "esqueleto");
+        long[] compacta = documentarConLaPiel(tipos, fuentes, directorio, "compacta");
+
+        assertThat(compacta[0]).isLessThan(esqueleto[0]);
+        assertThat(compacta[1]).isLessThan(esqueleto[1]);
+    }
+
+    /* bytes del documento y nodos del DOM que construye el navegador */
+    private long[] documentarConLaPiel(int tipos, List<Path> fuentes, Path directorio, String piel) throws IOException {
+
+        Path documento = directorio.resolve(piel + ".html");
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-piel", piel);
+
+        long[] medicion = { Files.size(documento), nodosDe(new String(Files.readAllBytes(documento), StandardCharsets.UTF_8)) };
+        PIELES.add(String.format("%d,%s,%d,%d", tipos, piel, medicion[0], medicion[1]));
+
+        return medicion;
+    }
+
+    /* elementos y nodos de texto, incluidos los de espacios entre etiquetas; el documento no tiene scripts incluidos */
+    private static long nodosDe(String html) {
+
+        long nodos = 0;
+        int desde = 0;
+
+        while (desde < html.length()) {
+
+            int etiqueta = html.indexOf('<', desde);
+
+            if (etiqueta < 0) {
+
+                return nodos + 1;
+            }
+
+            if (etiqueta > desde) {
+
+                nodos++;
+            }
+
+            char siguiente = html.charAt(etiqueta + 1);
+
+            if (siguiente != '/' && siguiente != '!') {
+
+                nodos++;
+            }
+
+            desde = html.indexOf('>', etiqueta) + 1;
+        }
+
+        return nodos;
+    }
+
+    private void comprobarQueDocumentaTodosLosTipos(Path documento, int tipos) throws IOException {
+
+        String contenido = new String(Files.readAllBytes(documento), StandardCharsets.UTF_8);
+        int desde = 0;
+
+        /* containsSubsequence de AssertJ es cuadrático para documentos de este tamaño */
+        for (int numero = 0; numero < tipos; numero++) {
+
+            String tipo = "<pre><code>" + GeneradorDeCorpus.nombreDeTipo(numero) + "</code></pre>";
+            desde = contenido.indexOf(tipo, desde);
+
+            assertThat(desde).as("posición de %s", tipo).isNotNegative();
+        }
+    }
+
+    private void comprobarQueElTamanioCreceLinealmente(long generados, int miembros) {
+
+        double actual = (double) generados / miembros;
+
+        if (bytesPorMiembro > 0) {
+
+            assertThat(actual).isBetween(bytesPorMiembro / 2, bytesPorMiembro * 2);
+        }
+
+        bytesPorMiembro = actual;
+    }
+
+    private static long bytesAsignados() {
+
+        ThreadMXBean hilos = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        return Arrays.stream(hilos.getThreadAllocatedBytes(hilos.getAllThreadIds())).filter(bytes -> bytes > 0).sum();
+    }
+}
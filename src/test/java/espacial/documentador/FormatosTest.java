@@ -0,0 +1,76 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FormatosTest {
+
+    private static final Path DIRECTORIO = Paths.get("./target/test-result/formatos");
+
+    private final List<Tipo> tipos = Collections.singletonList(
+            Tipo.enumerado("Sustancia", "1", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL")));
+
+    @BeforeEach
+    void vaciarDirectorio() throws IOException {
+
+        Files.createDirectories(DIRECTORIO);
+
+        try (Stream<Path> archivos = Files.list(DIRECTORIO)) {
+
+            for (Path archivo : archivos.collect(Collectors.toList())) {
+
+                Files.delete(archivo);
+            }
+        }
+    }
+
+    @Test
+    void descartarElFormatoQueFallaYTerminarLosDemas() throws IOException {
+
+        Formato incompleto = new Json(Salida.hacia(DIRECTORIO.resolve("contratos.json").toString())) {
+
+            @Override
+            public void escribirDocumento(List<Tipo> tipos) {
+
+                throw new IllegalStateException("sin espacio");
+            }
+        };
+        Formato markdown = new Markdown(Salida.hacia(DIRECTORIO.resolve("contratos.md").toString()));
+
+        assertThatThrownBy(() -> new Formatos(Arrays.asList(incompleto, markdown)).escribirDocumento(tipos))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("sin espacio");
+
+        comprobarQueSoloQueda("contratos.md");
+    }
+
+    @Test
+    void descartarLosFormatosYaAbiertos() throws IOException {
+
+        new Formatos(Arrays.asList(
+                new Markdown(Salida.hacia(DIRECTORIO.resolve("contratos.md").toString())),
+                new Json(Salida.hacia(DIRECTORIO.resolve("contratos.json").toString())))).descartar();
+
+        comprobarQueSoloQueda();
+    }
+
+    private void comprobarQueSoloQueda(String... nombres) throws IOException {
+
+        try (Stream<Path> archivos = Files.list(DIRECTORIO)) {
+
+            assertThat(archivos.map(archivo -> archivo.getFileName().toString())).containsExactlyInAnyOrder(nombres);
+        }
+    }
+}
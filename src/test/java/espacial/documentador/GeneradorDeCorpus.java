@@ -0,0 +1,192 @@
+package espacial.documentador;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class GeneradorDeCorpus {
+
+    private int tipos = 10;
+
+    private int metodos = 10;
+
+    private int enumerados = 2;
+
+    private int valores = 5;
+
+    private int lineas = 3;
+
+    private int profundidad = 1;
+
+    GeneradorDeCorpus conTipos(int cantidad) {
+
+        tipos = cantidad;
+        return this;
+    }
+
+    GeneradorDeCorpus conMetodos(int cantidad) {
+
+        metodos = cantidad;
+        return this;
+    }
+
+    GeneradorDeCorpus conEnumerados(int cantidad) {
+
+        enumerados = cantidad;
+        return this;
+    }
+
+    GeneradorDeCorpus conValores(int cantidad) {
+
+        valores = cantidad;
+        return this;
+    }
+
+    GeneradorDeCorpus conLineasDeComentario(int cantidad) {
+
+        lineas = cantidad;
+        return this;
+    }
+
+    /* cadenas de Tipos de esta profundidad: cada uno extiende al anterior y redefine su primera operación */
+    GeneradorDeCorpus conHerencia(int profundidad) {
+
+        this.profundidad = profundidad;
+        return this;
+    }
+
+    int miembros() {
+
+        return tipos * (metodos + 1) + enumerados * valores;
+    }
+
+    List<Path> generarEn(Path directorio) throws IOException {
+
+        Files.createDirectories(directorio);
+
+        List<Path> fuentes = new ArrayList<>();
+
+        for (int i = 0; i < tipos; i++) {
+
+            fuentes.add(escribir(directorio, nombreDeTipo(i), tipo(i)));
+        }
+
+        for (int i = 0; i < enumerados; i++) {
+
+            fuentes.add(escribir(directorio, nombreDeEnumerado(i), enumerado(i)));
+        }
+
+        return fuentes;
+    }
+
+    static String nombreDeTipo(int numero) {
+
+        return "Tipo" + numero;
+    }
+
+    static String nombreDeEnumerado(int numero) {
+
+        return "Enumerado" + numero;
+    }
+
+    /* con herencia cada Tipo declara operaciones propias, que sus descendientes heredan */
+    String nombreDeOperacion(int tipo, int numero) {
+
+        return "operacion" + numero + (profundidad > 1 ? "Del" + nombreDeTipo(tipo) : "");
+    }
+
+    private boolean extiende(int numero) {
+
+        return numero % profundidad != 0;
+    }
+
+    private Path escribir(Path directorio, String nombre, String codigo) throws IOException {
+
+        return Files.write(directorio.resolve(nombre + ".java"), codigo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String tipo(int numero) {
+
+        String nombre = nombreDeTipo(numero);
+        StringBuilder codigo = new StringBuilder();
+
+        codigo.append("/**\n");
+        comentario(codigo, " * ", "Tipo " + numero + " de la Batalla Espacial");
+        codigo.append(" *\n * @prioridad ").append(String.format("%06d", numero)).append("\n */\n");
+        codigo.append("public class ").append(nombre);
+
+        if (extiende(numero)) {
+
+            codigo.append(" extends ").append(nombreDeTipo(numero - 1));
+        }
+
+        codigo.append(" {\n\n");
+
+        codigo.append("    /**\n     * @pre hay lugar en el tablero.\n     * @param nombre identifica al ")
+                .append(nombre).append("\n     * @post fue creado el ").append(nombre).append(".\n     */\n");
+        codigo.append("    public ").append(nombre).append("(String nombre) { ")
+                .append(extiende(numero) ? "super(nombre); " : "").append("}\n\n");
+
+        if (extiende(numero) && metodos > 0) {
+
+            codigo.append("    /**\n     * @post fue redefinida por el ").append(nombre).append(".\n     */\n");
+            codigo.append("    public int ").append(nombreDeOperacion(numero - 1, 0))
+                    .append("(Enumerado0 sustancia, int cantidad) { return 1; }\n\n");
+        }
+
+        for (int j = 0; j < metodos; j++) {
+
+            codigo.append("    /**\n");
+            comentario(codigo, "     * ", "Operación " + j + " del " + nombre);
+            codigo.append("     *\n");
+            codigo.append("     * @pre el ").append(nombre).append(" fue creado y la operación ").append(j).append("\n");
+            codigo.append("     *      está disponible.\n");
+            codigo.append("     * @param sustancia tipifica la carga\n");
+            codigo.append("     * @param cantidad cantidad de unidades\n");
+            codigo.append("     *        a cargar en la bodega.\n");
+            codigo.append("     * @post la operación ").append(j).append(" fue aplicada");
+
+            if (numero > 0) {
+
+                codigo.append(" después de {@link ").append(nombreDeTipo(numero - 1)).append("#")
+                        .append(nombreDeOperacion(numero - 1, j)).append("(Enumerado0, int)}");
+            }
+
+            codigo.append("\n");
+            codigo.append("     * @return porcentaje comprendido entre [0..100]\n");
+            codigo.append("     */\n");
+            codigo.append("    public int ").append(nombreDeOperacion(numero, j)).append("(Enumerado0 sustancia, int cantidad) { return 0; }\n\n");
+        }
+
+        return codigo.append("}\n").toString();
+    }
+
+    private String enumerado(int numero) {
+
+        StringBuilder codigo = new StringBuilder();
+
+        codigo.append("/**\n");
+        comentario(codigo, " * ", "Enumerado " + numero + " de la Batalla Espacial");
+        codigo.append(" *\n * @prioridad ").append(String.format("%06d", tipos + numero)).append("\n */\n");
+        codigo.append("public enum ").append(nombreDeEnumerado(numero)).append(" {\n\n    ");
+
+        for (int j = 0; j < valores; j++) {
+
+            codigo.append(j > 0 ? ", " : "").append("VALOR_").append(j);
+        }
+
+        return codigo.append("\n}\n").toString();
+    }
+
+    private void comentario(StringBuilder codigo, String prefijo, String tema) {
+
+        for (int i = 0; i < lineas; i++) {
+
+            codigo.append(prefijo).append(tema).append(", línea ").append(i)
+                    .append(" de una descripción   que ocupa    varias líneas.\n");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IndiceDeBusquedaTest {
+
+    @Test
+    void separarIdentificadoresEnPalabras() {
+
+        assertThat(IndiceDeBusqueda.palabrasDe("cargarDesdeEste")).containsExactly("cargar", "desde", "este", "cargardesdeeste");
+        assertThat(IndiceDeBusqueda.palabrasDe("NO_INCLUIR")).containsExactly("no", "incluir", "no_incluir");
+        assertThat(IndiceDeBusqueda.palabrasDe("int[]")).containsExactly("int");
+    }
+
+    @Test
+    void indexarTiposMiembrosYValores() {
+
+        IndiceDeBusqueda indice = dadoUnIndice();
+
+        assertThat(indice.entradas()).isEqualTo(5);
+        assertThat(indice.comoScript(false))
+                .startsWith("var indiceDeBusqueda = {\"paginas\":false,")
+                .contains("\"e\":[\"tNave\",\"cNave.Nave(String)\",\"mNave.cargarDesdeEste(Sustancia,int)\",\"tSustancia\",\"vSustancia.METAL\"]")
+                .endsWith("}};");
+    }
+
+    @Test
+    void compartirLasPalabrasEntreEntradas() {
+
+        IndiceDeBusqueda indice = dadoUnIndice();
+
+        /* "sustancia" aparece en el método y en el Tipo: una sola palabra con las dos entradas */
+        assertThat(indice.comoScript(true))
+                .contains("\"p\":[\"nave\",\"string\",\"cargar\",\"desde\",\"este\",\"cargardesdeeste\",\"sustancia\",\"int\",\"metal\"]")
+                .contains("\"w\":[[0,1],[1],[2],[2],[2],[2],[2,1],[2],[4]]")
+                .contains("\"car\":[2,3]");
+    }
+
+    private IndiceDeBusqueda dadoUnIndice() {
+
+        Tipo nave = Tipo.clase("Nave", "1", Texto.plano("Vehículo espacial"),
+                Collections.singletonList(Operacion.constructor("Nave",
+                        Collections.singletonList(new Parametro("String", "nombre")), Collections.emptyList())),
+                Collections.singletonList(Operacion.metodo("int", "cargarDesdeEste",
+                        Arrays.asList(new Parametro("Sustancia", "sustancia"), new Parametro("int", "cantidad")),
+                        Collections.emptyList())));
+
+        Tipo sustancia = Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Collections.singletonList("METAL"));
+
+        return IndiceDeBusqueda.de(Arrays.asList(nave, sustancia));
+    }
+}
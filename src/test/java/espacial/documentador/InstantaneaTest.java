@@ -0,0 +1,50 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InstantaneaTest {
+
+    private static final Path RUTA = Paths.get("./target/test-result/instantanea.bin");
+
+    @Test
+    void leerLoGuardado() {
+
+        List<Tipo> tipos = Arrays.asList(
+                Tipo.clase("Nave", "1", Texto.con(Arrays.asList(Fragmento.texto("Vehículo espacial que lleva "),
+                                Fragmento.enlaceACodigo("Sustancia", "Sustancia", "Sustancia"),
+                                Fragmento.codigo(" a bordo"))),
+                        Collections.singletonList(Operacion.constructor("Nave",
+                                Collections.singletonList(new Parametro("String", "nombre")),
+                                Arrays.asList(Condicion.pre(Texto.plano("hay lugar en el tablero")),
+                                        Condicion.parametro("nombre", Texto.plano("identifica a la Nave"))))),
+                        Collections.singletonList(Operacion.metodo("int", "cargar",
+                                Collections.singletonList(new Parametro("Sustancia", "sustancia")),
+                                Arrays.asList(Condicion.post(Texto.plano("la Nave está cargada")),
+                                        Condicion.retorno(Texto.plano("cantidad cargada")))))),
+                Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL")));
+
+        Instantanea.guardar(tipos, RUTA);
+        List<Tipo> leidos = Instantanea.leer(RUTA);
+
+        assertThat(leidos).extracting(Tipo::huella).containsExactly(tipos.get(0).huella(), tipos.get(1).huella());
+        assertThat(leidos.get(1).esEnumerado()).isTrue();
+        assertThat(leidos.get(0).metodos().get(0).firma()).isEqualTo("int cargar(Sustancia sustancia)");
+        assertThat(leidos.get(0).descripcion().fragmentos()).extracting(Fragmento::clase)
+                .containsExactly(Fragmento.Clase.TEXTO, Fragmento.Clase.ENLACE_A_CODIGO, Fragmento.Clase.CODIGO);
+        assertThat(RUTA.getParent().toFile().list((directorio, nombre) -> nombre.startsWith(".instantanea.bin"))).isEmpty();
+    }
+
+    @Test
+    void leerArchivoQueNoEsUnaInstantanea() {
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Instantanea.leer(Paths.get("pom.xml")));
+    }
+}
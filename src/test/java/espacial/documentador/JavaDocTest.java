@@ -0,0 +1,230 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JavaDocTest {
+
+    private static final String RUTA_BASE = "./target/test-result/javadoc/";
+
+    private Path directorio;
+
+    private Path documento;
+
+    @BeforeEach
+    void definirRutas(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName());
+        documento = directorio.resolve("contratos.html");
+        Files.deleteIfExists(documento);
+
+        /* los que haya dejado una ejecución anterior no cuentan */
+        for (Path temporal : temporales()) {
+
+            Files.delete(temporal);
+        }
+    }
+
+    @Test
+    void documentarTiposEnOrdenDePrioridad() throws IOException {
+
+        List<Path> fuentes = new GeneradorDeCorpus().conTipos(3).conMetodos(2).conEnumerados(1).conValores(3)
+                .generarEn(directorio.resolve("fuentes"));
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento);
+
+        assertThat(contenido()).containsSubsequence(
+                "<pre><code>Tipo0</code></pre>",
+                "<pre><code>Tipo0(String nombre)</code></pre>",
+                "<pre><code>int operacion0(Enumerado0 sustancia, int cantidad)</code></pre>",
+                "<div class=\"eight columns\">el Tipo0 fue creado y la operación 0 está disponible.</div>",
+                "<pre><code>Tipo1</code></pre>",
+                "<pre><code>Tipo2</code></pre>",
+                "<pre><code>Enumerado0</code></pre>",
+                "<pre id=\"Enumerado0.VALOR_0\"><code>VALOR_0</code></pre>",
+                "<pre id=\"Enumerado0.VALOR_2\"><code>VALOR_2</code></pre>");
+    }
+
+    @Test
+    void enlazarReferenciasEntreContratos() throws IOException {
+
+        List<Path> fuentes = new GeneradorDeCorpus().conTipos(2).conMetodos(1).conEnumerados(1).conValores(1)
+                .generarEn(directorio.resolve("fuentes"));
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento);
+
+        assertThat(contenido()).containsSubsequence(
+                "<h3 id=\"Tipo0\">Tipo</h3>",
+                "<div class=\"row\" id=\"Tipo0.operacion0(Enumerado0,int)\">",
+                "<h3 id=\"Tipo1\">Tipo</h3>",
+                "<div class=\"eight columns\">la operación 0 fue aplicada después de "
+                        + "<a href=\"#Tipo0.operacion0(Enumerado0,int)\"><code>Tipo0.operacion0(Enumerado0, int)</code></a></div>",
+                "<pre id=\"Enumerado0.VALOR_0\"><code>VALOR_0</code></pre>");
+    }
+
+    @Test
+    void documentarLosMetodosHeredadosSinLosRedefinidos() throws IOException {
+
+        List<Path> fuentes = new GeneradorDeCorpus().conTipos(3).conMetodos(2).conEnumerados(1).conValores(1).conHerencia(3)
+                .generarEn(directorio.resolve("fuentes"));
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-piel", "compacta");
+
+        String contenido = contenido();
+        String tipo2 = contenido.substring(contenido.indexOf("<h3 id=\"Tipo2\">"), contenido.indexOf("<h3 id=\"Enumerado0\">"));
+
+        assertThat(tipo2).containsSubsequence(
+                "<pre class=\"firma\" id=\"Tipo2.operacion0DelTipo1(Enumerado0,int)\">",
+                "<dd>fue redefinida por el Tipo2.</dd>",
+                "<h4>Métodos heredados de <a href=\"#Tipo1\"><code>Tipo1</code></a></h4>",
+                "<pre class=\"firma\"><code>int operacion0DelTipo0(Enumerado0 sustancia, int cantidad)</code></pre>",
+                "<dd>fue redefinida por el Tipo1.</dd>",
+                "<pre class=\"firma\"><code>int operacion1DelTipo1(Enumerado0 sustancia, int cantidad)</code></pre>",
+                "<dd>el Tipo1 fue creado y la operación 1 está disponible.</dd>",
+                "<h4>Métodos heredados de <a href=\"#Tipo0\"><code>Tipo0</code></a></h4>",
+                "<pre class=\"firma\"><code>int operacion1DelTipo0(Enumerado0 sustancia, int cantidad)</code></pre>");
+        assertThat(tipo2).doesNotContain("int operacion0DelTipo1(Enumerado0 sustancia, int cantidad)</code></pre>\n<dl class=\"contrato\"><dt>pre");
+        assertThat(tipo2.split("operacion1DelTipo0\\(Enumerado0 sustancia", -1)).hasSize(2);
+    }
+
+    @Test
+    void volcarLosTiposSinCambiarElDocumento() throws IOException {
+
+        List<Path> fuentes = new GeneradorDeCorpus().conTipos(5).conMetodos(2).conEnumerados(2).conValores(2)
+                .generarEn(directorio.resolve("fuentes"));
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-estilo", "incluido");
+        String enMemoria = contenido();
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-estilo", "incluido", "-volcado", directorio.resolve("volcado").toString());
+
+        /* el índice de búsqueda lista las entradas en el orden en que se extrajeron */
+        assertThat(sinBusqueda(contenido())).isEqualTo(sinBusqueda(enMemoria));
+        assertThat(directorio.resolve("volcado").toFile().list()).isEmpty();
+    }
+
+    @Test
+    void informarLasFasesDeLaEjecucion() throws IOException {
+
+        List<Path> fuentes = new GeneradorDeCorpus().conTipos(2).conMetodos(2).conEnumerados(1).conValores(3)
+                .generarEn(directorio.resolve("fuentes"));
+        Path informe = directorio.resolve("informe.json");
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-informe", informe.toString());
+
+        assertThat(new String(Files.readAllBytes(informe), StandardCharsets.UTF_8))
+                .contains("\"contadores\":{\"tipos\":3,\"miembros\":9,\"etiquetas\":")
+                .contains("{\"fase\":\"seleccion\"", "{\"fase\":\"modelo\"", "{\"fase\":\"html.tipos\"",
+                        "{\"fase\":\"html.terminar\"", "{\"fase\":\"escritura.html\"");
+    }
+
+    @Test
+    void documentarLosTiposQueRepitenPrioridadYRevisarSusContratos() throws IOException {
+
+        List<Path> fuentes = dadoQueHayTiposConLaMismaPrioridad();
+
+        EjecutorDeJavadoc.ejecutar(fuentes, documento, "-revision", "advertir");
+
+        assertThat(contenido()).containsSubsequence("<h3 id=\"Nave\">", "<h3 id=\"Sonda\">");
+        assertThat(new String(Files.readAllBytes(directorio.resolve("contratos.revision.json")), StandardCharsets.UTF_8))
+                .startsWith("{\"errores\":2,\"advertencias\":1,\"hallazgos\":[")
+                .containsSubsequence(
+                        "{\"severidad\":\"error\",\"regla\":\"parametro-desconocido\",\"tipo\":\"Nave\","
+                                + "\"miembro\":\"avanzar(int)\",\"mensaje\":\"@param 'distancia' no corresponde a ningún parámetro\"}",
+                        "{\"severidad\":\"advertencia\",\"regla\":\"parametro-sin-documentar\",\"tipo\":\"Nave\"",
+                        "{\"severidad\":\"error\",\"regla\":\"prioridad-repetida\",\"tipo\":\"Sonda\",\"miembro\":null,"
+                                + "\"mensaje\":\"comparte la @prioridad '1' con Nave");
+    }
+
+    @Test
+    void noEscribirLaDocumentacionConErroresEnLaRevisionEstricta() throws IOException {
+
+        List<Path> fuentes = dadoQueHayTiposConLaMismaPrioridad();
+
+        assertThatThrownBy(() -> EjecutorDeJavadoc.ejecutar(fuentes, documento, "-revision", "estricta"))
+                .hasMessageContaining("Nave.avanzar(int): @param 'distancia' no corresponde a ningún parámetro [parametro-desconocido]");
+
+        assertThat(documento).doesNotExist();
+        assertThat(directorio.resolve("contratos.revision.json")).exists();
+        assertThat(temporales()).isEmpty();
+    }
+
+    @Test
+    void noAbrirElDocumentoConErroresEnLaRevisionEstrictaDelVolcado() throws IOException {
+
+        List<Path> fuentes = dadoQueHayTiposConLaMismaPrioridad();
+
+        assertThatThrownBy(() -> EjecutorDeJavadoc.ejecutar(fuentes, documento,
+                "-revision", "estricta", "-volcado", directorio.resolve("volcado").toString()))
+                .hasMessageContaining("Sonda: comparte la @prioridad '1' con Nave");
+
+        assertThat(documento).doesNotExist();
+        assertThat(directorio.resolve("contratos.revision.json")).exists();
+        assertThat(temporales()).isEmpty();
+    }
+
+    private List<Path> temporales() throws IOException {
+
+        if (!Files.isDirectory(directorio)) {
+
+            return Collections.emptyList();
+        }
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+
+            return archivos.filter(archivo -> archivo.getFileName().toString().endsWith(".tmp")).collect(Collectors.toList());
+        }
+    }
+
+    private List<Path> dadoQueHayTiposConLaMismaPrioridad() throws IOException {
+
+        Path fuentes = directorio.resolve("fuentes");
+        Files.createDirectories(fuentes);
+
+        Path nave = Files.write(fuentes.resolve("Nave.java"), String.join("\n",
+                "/**",
+                " * @prioridad 1",
+                " */",
+                "public class Nave {",
+                "    /**",
+                " * @param distancia casilleros a recorrer",
+                " * @post avanzó",
+                " */",
+                "    public void avanzar(int casilleros) {",
+                "    }",
+                "}").getBytes(StandardCharsets.UTF_8));
+
+        Path sonda = Files.write(fuentes.resolve("Sonda.java"), String.join("\n",
+                "/**",
+                " * @prioridad 1",
+                " */",
+                "public class Sonda {",
+                "}").getBytes(StandardCharsets.UTF_8));
+
+        return Arrays.asList(nave, sonda);
+    }
+
+    private static String sinBusqueda(String contenido) {
+
+        return contenido.replaceAll("var indiceDeBusqueda = .*;", "");
+    }
+
+    private String contenido() throws IOException {
+
+        return new String(Files.readAllBytes(documento), StandardCharsets.UTF_8);
+    }
+}
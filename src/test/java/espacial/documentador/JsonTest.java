@@ -0,0 +1,69 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonTest {
+
+    private static final String RUTA_BASE = "./target/test-result/json/";
+
+    private String ruta;
+
+    @BeforeEach
+    void definirRuta(TestInfo testInfo) throws IOException {
+
+        ruta = RUTA_BASE + testInfo.getTestMethod().get().getName() + ".json";
+        Files.deleteIfExists(Paths.get(ruta));
+    }
+
+    @Test
+    void escribirUnTipoPorLinea() throws IOException {
+
+        dadoQueSeEscribieronLosTipos();
+
+        assertThat(contenido().split(System.lineSeparator())).containsExactly(
+                "{\"tipos\":[",
+                "{\"nombre\":\"Nave\",\"ancla\":\"Nave\",\"prioridad\":\"1\",\"descripcion\":\"Vehículo espacial \\\"principal\\\"\","
+                        + "\"enumerado\":false,\"valores\":[],\"constructores\":[],\"metodos\":["
+                        + "{\"nombre\":\"cargar\",\"ancla\":\"Nave.cargar(Sustancia)\",\"firma\":\"void cargar(Sustancia sustancia)\","
+                        + "\"retorno\":\"void\",\"parametros\":[{\"tipo\":\"Sustancia\",\"nombre\":\"sustancia\"}],"
+                        + "\"contrato\":[{\"clase\":\"pre\",\"texto\":\"la bodega no está llena\"},"
+                        + "{\"clase\":\"parametro\",\"nombre\":\"sustancia\",\"texto\":\"a guardar en la bodega\"}]}],"
+                        + "\"heredados\":[{\"tipo\":\"Vehiculo\",\"metodos\":[{\"nombre\":\"avanzar\",\"ancla\":\"Vehiculo.avanzar()\","
+                        + "\"firma\":\"void avanzar()\",\"retorno\":\"void\",\"parametros\":[],"
+                        + "\"contrato\":[{\"clase\":\"post\",\"texto\":\"avanzó un casillero\"}]}]}]},",
+                "{\"nombre\":\"Sustancia\",\"ancla\":\"Sustancia\",\"prioridad\":\"2\",\"descripcion\":\"Carga de una Nave\","
+                        + "\"enumerado\":true,\"valores\":[\"METAL\",\"CRISTAL\"],\"constructores\":[],\"metodos\":[],\"heredados\":[]}",
+                "]}");
+    }
+
+    private void dadoQueSeEscribieronLosTipos() {
+
+        new Json(Salida.hacia(ruta)).escribirDocumento(Arrays.asList(
+                Tipo.clase("Nave", "1", Texto.plano("Vehículo espacial\n     \"principal\""),
+                        Collections.emptyList(),
+                        Collections.singletonList(Operacion.metodo("void", "cargar",
+                                Collections.singletonList(new Parametro("Sustancia", "sustancia")),
+                                Arrays.asList(Condicion.pre(Texto.plano("la bodega no está llena")),
+                                        Condicion.parametro("sustancia", Texto.plano("a guardar en la bodega"))))),
+                        Collections.singletonList(new Herencia("Vehiculo", Collections.singletonList(
+                                Operacion.metodo("void", "avanzar", Collections.emptyList(),
+                                        Collections.singletonList(Condicion.post(Texto.plano("avanzó un casillero")))))))),
+                Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL"))));
+    }
+
+    private String contenido() throws IOException {
+
+        return new String(Files.readAllBytes(Paths.get(ruta)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,163 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoteTest {
+
+    private static final String RUTA_BASE = "./target/test-result/lote/";
+
+    private Path directorio;
+
+    @BeforeEach
+    void limpiarDirectorio(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName()).toAbsolutePath().normalize();
+
+        if (Files.exists(directorio)) {
+
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+
+                archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+            }
+        }
+
+        Files.createDirectories(directorio);
+    }
+
+    @Test
+    void leerElManifiestoConRutasRelativas() throws IOException {
+
+        Path manifiesto = dadoQueExisteElManifiesto(
+                "# ediciones del curso",
+                "",
+                "2023/fuentes   salida/2023.html",
+                "variante/fuentes salida/variante.html -estilo incluido");
+
+        List<Lote.Entrada> entradas = Lote.leer(manifiesto);
+
+        assertThat(entradas).extracting(Lote.Entrada::raiz)
+                .containsExactly(directorio.resolve("2023/fuentes"), directorio.resolve("variante/fuentes"));
+        assertThat(entradas).extracting(Lote.Entrada::documento)
+                .containsExactly(directorio.resolve("salida/2023.html"), directorio.resolve("salida/variante.html"));
+        assertThat(entradas.get(1).opciones()).containsExactly("-estilo", "incluido");
+    }
+
+    @Test
+    void leerRutasEntreComillasYOpcionesConRutasRelativas() throws IOException {
+
+        Files.createDirectories(directorio.resolve("pieles/propia"));
+
+        Path manifiesto = dadoQueExisteElManifiesto(
+                "\"curso 2023/fuentes\" \"salida/curso 2023.html\" -cache cache/2023 -estilo incluido -informe \"informes/curso 2023.json\"",
+                "variante/fuentes salida/variante.html -piel pieles/propia -paginas paginas",
+                "variante/fuentes salida/compacta.html -piel compacta");
+
+        List<Lote.Entrada> entradas = Lote.leer(manifiesto);
+
+        assertThat(entradas.get(0).raiz()).isEqualTo(directorio.resolve("curso 2023/fuentes"));
+        assertThat(entradas.get(0).documento()).isEqualTo(directorio.resolve("salida/curso 2023.html"));
+        assertThat(entradas.get(0).opciones()).containsExactly(
+                "-cache", directorio.resolve("cache/2023").toString(),
+                "-estilo", "incluido",
+                "-informe", directorio.resolve("informes/curso 2023.json").toString());
+        assertThat(entradas.get(1).opciones()).containsExactly(
+                "-piel", directorio.resolve("pieles/propia").toString(),
+                "-paginas", directorio.resolve("paginas").toString());
+        assertThat(entradas.get(2).opciones()).containsExactly("-piel", "compacta");
+    }
+
+    @Test
+    void rechazarComillasSinCerrar() throws IOException {
+
+        Path manifiesto = dadoQueExisteElManifiesto("\"curso 2023/fuentes salida/2023.html");
+
+        assertThatThrownBy(() -> Lote.leer(manifiesto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Línea 1")
+                .hasMessageContaining("comillas");
+    }
+
+    @Test
+    void rechazarLineasSinDocumento() throws IOException {
+
+        Path manifiesto = dadoQueExisteElManifiesto("2023/fuentes");
+
+        assertThatThrownBy(() -> Lote.leer(manifiesto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Línea 1");
+    }
+
+    @Test
+    void rechazarSalidaEntreLasOpciones() throws IOException {
+
+        Path manifiesto = dadoQueExisteElManifiesto("2023/fuentes salida/2023.html", "variante/fuentes salida/variante.html -salida otra.html");
+
+        assertThatThrownBy(() -> Lote.leer(manifiesto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Línea 2")
+                .hasMessageContaining("-salida");
+    }
+
+    @Test
+    void rechazarMenosDeUnaRaizSimultanea() {
+
+        assertThatThrownBy(() -> new Lote(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("al menos 1");
+    }
+
+    @Test
+    void documentarCadaRaizSinSuperarLasSimultaneas() throws IOException {
+
+        for (String raiz : Arrays.asList("a", "b", "c")) {
+
+            new GeneradorDeCorpus().conTipos(2).conMetodos(1).conEnumerados(1).conValores(1).generarEn(directorio.resolve(raiz));
+        }
+
+        Files.write(directorio.resolve("c/Roto.java"), "public class Roto {".getBytes(StandardCharsets.UTF_8));
+
+        Lote lote = new Lote(2);
+        long inicio = System.nanoTime();
+        List<Lote.Resultado> resultados = lote.documentar(Lote.leer(dadoQueExisteElManifiesto(
+                "a salida/a.html -informe informes/a.json", "b salida/b.html -estilo incluido", "c salida/c.html")));
+        long nanos = System.nanoTime() - inicio;
+        lote.cerrar();
+
+        assertThat(resultados).extracting(Lote.Resultado::exitoso).containsExactly(true, true, false);
+        assertThat(resultados.get(2).mensajes()).contains("Roto.java");
+        assertThat(lote.maximoEnCurso()).isBetween(1, 2);
+        assertThat(new String(Files.readAllBytes(directorio.resolve("salida/a.html")), StandardCharsets.UTF_8))
+                .contains("<h3 id=\"Tipo0\">Tipo</h3>").contains("<link");
+        assertThat(new String(Files.readAllBytes(directorio.resolve("salida/b.html")), StandardCharsets.UTF_8))
+                .contains("<h3 id=\"Tipo0\">Tipo</h3>").contains("<style");
+        assertThat(directorio.resolve("informes/a.json")).isRegularFile();
+
+        /* el análisis de javadoc se mide desde que empezó la tarea de esa raíz, no desde que arrancó la JVM */
+        Matcher analisis = Pattern.compile("^\\{\"javadocNanos\":(\\d+),")
+                .matcher(new String(Files.readAllBytes(directorio.resolve("informes/a.json")), StandardCharsets.UTF_8));
+
+        assertThat(analisis.find()).isTrue();
+        assertThat(Long.parseLong(analisis.group(1))).isPositive().isLessThan(nanos);
+    }
+
+    private Path dadoQueExisteElManifiesto(String... lineas) throws IOException {
+
+        return Files.write(directorio.resolve("lote.txt"), Arrays.asList(lineas), StandardCharsets.UTF_8);
+    }
+}
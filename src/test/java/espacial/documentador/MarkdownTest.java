@@ -0,0 +1,92 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MarkdownTest {
+
+    private static final String RUTA_BASE = "./target/test-result/markdown/";
+
+    private String ruta;
+
+    @BeforeEach
+    void definirRuta(TestInfo testInfo) throws IOException {
+
+        ruta = RUTA_BASE + testInfo.getTestMethod().get().getName() + ".md";
+        Files.deleteIfExists(Paths.get(ruta));
+    }
+
+    @Test
+    void escribirTiposConSusContratos() throws IOException {
+
+        dadoQueSeEscribieronLosTipos();
+
+        assertThat(contenido()).containsSubsequence(
+                "# Documentación",
+                "<a id=\"Nave\"></a>",
+                "## Nave",
+                "Vehículo espacial que lleva [`METAL`](#Sustancia.METAL)",
+                "### Métodos",
+                "<a id=\"Nave.cargar(Sustancia)\"></a>",
+                "```java",
+                "void cargar(Sustancia sustancia)",
+                "```",
+                "- **pre** la bodega no está llena",
+                "- **param** `sustancia`: a guardar en la bodega",
+                "### Métodos heredados de [`Vehiculo`](#Vehiculo)",
+                "```java",
+                "void avanzar()",
+                "```",
+                "- **post** avanzó un casillero",
+                "## Sustancia",
+                "### Valores",
+                "- <a id=\"Sustancia.METAL\"></a>`METAL`",
+                "- <a id=\"Sustancia.CRISTAL\"></a>`CRISTAL`")
+                .doesNotContain("### Constructores", "<a id=\"Vehiculo.avanzar()\"></a>");
+    }
+
+    @Test
+    void escaparElTextoDeLosComentarios() {
+
+        assertThat(Markdown.escapar("suma *dos*\n     casilleros [a_b]")).isEqualTo("suma \\*dos\\* casilleros \\[a\\_b\\]");
+    }
+
+    @Test
+    void delimitarCodigoQueContieneComillasInvertidas() {
+
+        assertThat(Markdown.codigo("a`b")).isEqualTo("`` a`b ``");
+        assertThat(Markdown.codigo("int  x")).isEqualTo("`int x`");
+        assertThat(Markdown.codigo("\n   Tipo0.operacion0(Enumerado0,\n     int)  ")).isEqualTo("`Tipo0.operacion0(Enumerado0, int)`");
+    }
+
+    private void dadoQueSeEscribieronLosTipos() {
+
+        new Markdown(Salida.hacia(ruta)).escribirDocumento(Arrays.asList(
+                Tipo.clase("Nave", "1", Texto.con(Arrays.asList(Fragmento.texto("Vehículo espacial que lleva "),
+                        Fragmento.enlaceACodigo("METAL", "Sustancia", "Sustancia.METAL"))),
+                        Collections.emptyList(),
+                        Collections.singletonList(Operacion.metodo("void", "cargar",
+                                Collections.singletonList(new Parametro("Sustancia", "sustancia")),
+                                Arrays.asList(Condicion.pre(Texto.plano("la bodega no está llena")),
+                                        Condicion.parametro("sustancia", Texto.plano("a guardar en la bodega"))))),
+                        Collections.singletonList(new Herencia("Vehiculo", Collections.singletonList(
+                                Operacion.metodo("void", "avanzar", Collections.emptyList(),
+                                        Collections.singletonList(Condicion.post(Texto.plano("avanzó un casillero")))))))),
+                Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL"))));
+    }
+
+    private String contenido() throws IOException {
+
+        return new String(Files.readAllBytes(Paths.get(ruta)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,62 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MedicionTest {
+
+    @Test
+    void acumularLasFasesQueSeRepiten() {
+
+        Medicion medicion = new Medicion();
+
+        medicion.medir("modelo", () -> { });
+        String resultado = medicion.medir("escritura", () -> "escrito");
+        medicion.medir("modelo", () -> { });
+
+        assertThat(resultado).isEqualTo("escrito");
+        assertThat(medicion.fases()).containsExactly("modelo", "escritura");
+    }
+
+    @Test
+    void registrarLaFaseAunqueFalle() {
+
+        Medicion medicion = new Medicion();
+
+        assertThatThrownBy(() -> medicion.medir("escritura", () -> {
+            throw new IllegalStateException("sin espacio");
+        })).hasMessage("sin espacio");
+
+        assertThat(medicion.fases()).containsExactly("escritura");
+    }
+
+    @Test
+    void informarContadoresYFasesComoJson() {
+
+        Medicion medicion = new Medicion();
+
+        medicion.contar("tipos", 2);
+        medicion.contar("tipos", 1);
+        medicion.contar("miembros", 7);
+        medicion.medir("seleccion", () -> { });
+        medicion.escribio(1024);
+        medicion.escribio(512);
+        medicion.analizo(2_000);
+        medicion.analizo(500);
+
+        assertThat(medicion.contador("tipos")).isEqualTo(3);
+        assertThat(medicion.comoJson())
+                .startsWith("{\"javadocNanos\":2500,\"nanos\":")
+                .contains("\"bytesEscritos\":1536,")
+                .contains("\"contadores\":{\"tipos\":3,\"miembros\":7}")
+                .contains("\"fases\":[{\"fase\":\"seleccion\",\"nanos\":")
+                .endsWith("}]}");
+    }
+
+    @Test
+    void informarSinAnalisisSiJavadocNoSeEjecuto() {
+
+        assertThat(new Medicion().comoJson()).startsWith("{\"javadocNanos\":null,\"nanos\":");
+    }
+}
@@ -0,0 +1,41 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OperacionTest {
+
+    @Test
+    void firmaDeConstructor() {
+
+        Operacion constructor = Operacion.constructor("Base",
+                Arrays.asList(new Parametro("String", "nombre"), new Parametro("int", "cantidad")),
+                Collections.emptyList());
+
+        assertThat(constructor.esConstructor()).isTrue();
+        assertThat(constructor.firma()).isEqualTo("Base(String nombre, int cantidad)");
+    }
+
+    @Test
+    void firmaDeMetodo() {
+
+        Operacion metodo = Operacion.metodo("void", "cargarDesdeEste",
+                Arrays.asList(new Parametro("Sustancia", "sustancia"), new Parametro("int", "cantidad")),
+                Collections.emptyList());
+
+        assertThat(metodo.esConstructor()).isFalse();
+        assertThat(metodo.firma()).isEqualTo("void cargarDesdeEste(Sustancia sustancia, int cantidad)");
+    }
+
+    @Test
+    void firmaSinParametros() {
+
+        Operacion metodo = Operacion.metodo("int", "obtenerCarga", Collections.emptyList(), Collections.emptyList());
+
+        assertThat(metodo.firma()).isEqualTo("int obtenerCarga()");
+    }
+}
@@ -0,0 +1,153 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PaginasTest {
+
+    private static final String RUTA_BASE = "./target/test-result/paginas/";
+
+    private Path directorio;
+
+    private List<Tipo> tipos;
+
+    @BeforeEach
+    void limpiarDirectorio(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName());
+
+        if (Files.exists(directorio)) {
+
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+
+                archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void escribirUnaPaginaPorTipo() throws IOException {
+
+        dadoQueSeEscribieronLasPaginas();
+
+        assertThat(directorio.resolve("Nave.html")).exists();
+        assertThat(directorio.resolve("Sustancia.html")).exists();
+        assertThat(contenidoDe(Piel.predeterminada().hojaDeEstilo())).isEqualTo(Piel.predeterminada().estilo() + System.lineSeparator());
+    }
+
+    @Test
+    void escribirIndiceConEnlacesALasPaginas() throws IOException {
+
+        dadoQueSeEscribieronLasPaginas();
+
+        assertThat(contenidoDe(Paginas.INDICE)).containsSubsequence(
+                "<link rel=\"stylesheet\" href=\"" + Piel.predeterminada().hojaDeEstilo() + "\"/>",
+                "<h1>Documentación</h1>",
+                "<h3>Tipos</h3>",
+                "<li><a href=\"Nave.html\"><code>Nave</code></a></li>",
+                "<li><a href=\"Sustancia.html\"><code>Sustancia</code></a></li>",
+                "</ul>");
+    }
+
+    @Test
+    void enlazarTiposEntrePaginas() throws IOException {
+
+        dadoQueSeEscribieronLasPaginas();
+
+        assertThat(contenidoDe("Nave.html")).containsSubsequence(
+                "<title>Nave</title>",
+                "<link rel=\"stylesheet\" href=\"" + Piel.predeterminada().hojaDeEstilo() + "\"/>",
+                "<p><a href=\"indice.html\">Documentación</a></p>",
+                "<h3 id=\"Nave\">Tipo</h3>",
+                "<p>Vehículo espacial que lleva <a href=\"Sustancia.html#Sustancia.METAL\"><code>METAL</code></a></p>",
+                "</body>")
+                .doesNotContain("<style");
+    }
+
+    @Test
+    void incluirElEstiloEnCadaPagina() throws IOException {
+
+        dadoQueSeEscribieronLasPaginasConElEstiloIncluido();
+
+        assertThat(directorio.resolve(Piel.predeterminada().hojaDeEstilo())).doesNotExist();
+        assertThat(contenidoDe("Nave.html")).contains("<style type=\"text/css\">").doesNotContain("<link");
+    }
+
+    @Test
+    void escribirUnTipoLlamadoComoElIndiceSinPisarlo() throws IOException {
+
+        Paginas paginas = crearPaginas();
+        tipos = Arrays.asList(tipos.get(0),
+                Tipo.clase("indice", "3", Texto.con(Collections.singletonList(Fragmento.enlace("Nave", "Nave", "Nave"))),
+                        Collections.emptyList(), Collections.emptyList()));
+
+        paginas.escribirDocumento(tipos);
+
+        assertThat(contenidoDe(Paginas.INDICE)).containsSubsequence(
+                "<h1>Documentación</h1>",
+                "<li><a href=\"Nave.html\"><code>Nave</code></a></li>",
+                "<li><a href=\"indice-tipo.html\"><code>indice</code></a></li>");
+        assertThat(contenidoDe("indice-tipo.html")).contains("<h3 id=\"indice\">Tipo</h3>");
+    }
+
+    @Test
+    void noAbrirElIndiceSiFallaUnaPagina() throws IOException {
+
+        Paginas paginas = crearPaginas();
+
+        /* la página de Sustancia no puede reemplazar a un directorio */
+        Files.createDirectories(directorio.resolve("Sustancia.html").resolve("ocupado"));
+
+        assertThatThrownBy(() -> paginas.escribirDocumento(tipos)).hasRootCauseInstanceOf(IOException.class);
+
+        assertThat(directorio.resolve(Paginas.INDICE)).doesNotExist();
+        assertThat(directorio.resolve("Nave.html")).exists();
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+
+            assertThat(archivos.map(archivo -> archivo.getFileName().toString())).noneMatch(archivo -> archivo.endsWith(".tmp"));
+        }
+    }
+
+    private void dadoQueSeEscribieronLasPaginas() {
+
+        crearPaginas().escribirDocumento(tipos);
+    }
+
+    private void dadoQueSeEscribieronLasPaginasConElEstiloIncluido() {
+
+        Paginas paginas = crearPaginas();
+        paginas.incluirEstilo();
+        paginas.escribirDocumento(tipos);
+    }
+
+    private Paginas crearPaginas() {
+
+        tipos = Arrays.asList(
+                Tipo.clase("Nave", "1", Texto.con(Arrays.asList(Fragmento.texto("Vehículo espacial que lleva "),
+                        Fragmento.enlaceACodigo("METAL", "Sustancia", "Sustancia.METAL"))),
+                        Collections.emptyList(), Collections.emptyList()),
+                Tipo.enumerado("Sustancia", "2", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL")));
+
+        return new Paginas(directorio, Piel.predeterminada());
+    }
+
+    private String contenidoDe(String archivo) throws IOException {
+
+        return new String(Files.readAllBytes(directorio.resolve(archivo)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PlantillaTest {
+
+    @Test
+    void escribirSinHuecos() {
+
+        Plantilla plantilla = Plantilla.compilar("<h4>Métodos</h4>");
+
+        assertThat(plantilla.huecos()).isZero();
+        assertThat(escribir(plantilla)).isEqualTo("<h4>Métodos</h4>");
+    }
+
+    @Test
+    void escribirCompletandoLosHuecosEnOrden() {
+
+        Plantilla plantilla = Plantilla.compilar("<div>{{nombre}}: {{descripcion}}</div>");
+
+        assertThat(plantilla.huecos()).isEqualTo(2);
+        assertThat(escribir(plantilla, "sustancia", "tipifica la carga"))
+                .isEqualTo("<div>sustancia: tipifica la carga</div>");
+    }
+
+    @Test
+    void escribirCompletandoLosHuecosPorNombre() {
+
+        Plantilla plantilla = Plantilla.compilar("<a href=\"#{{ancla}}\">{{codigo}}</a> ({{ancla}})", "codigo", "ancla");
+
+        assertThat(escribir(plantilla, "avanzar()", "Nave.avanzar()"))
+                .isEqualTo("<a href=\"#Nave.avanzar()\">avanzar()</a> (Nave.avanzar())");
+    }
+
+    @Test
+    void compilarConHuecoDesconocido() {
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Plantilla.compilar("<p>{{firma}}</p>", "ancla", "codigo"))
+                .withMessage("La plantilla usa el hueco 'firma', que no es ninguno de [ancla, codigo]");
+    }
+
+    @Test
+    void escribirConFinDeLineaDeLaPlataforma() {
+
+        Plantilla plantilla = Plantilla.compilar("<hr></hr>\n<h3>{{titulo}}</h3>\n");
+
+        assertThat(escribir(plantilla, "Tipo"))
+                .isEqualTo("<hr></hr>" + System.lineSeparator() + "<h3>Tipo</h3>" + System.lineSeparator());
+    }
+
+    @Test
+    void escribirEscapandoLosHuecos() {
+
+        Plantilla plantilla = Plantilla.compilar("<p>{{texto}}</p>");
+
+        assertThat(escribir(plantilla, "la carga es <b>menor</b> a 100")).isEqualTo("<p>la carga es &lt;b&gt;menor&lt;/b&gt; a 100</p>");
+    }
+
+    @Test
+    void escribirHuecosCrudosSinEscapar() {
+
+        Plantilla plantilla = Plantilla.compilar("<style>{{{estilo}}}</style>");
+
+        assertThat(plantilla.huecos()).isEqualTo(1);
+        assertThat(escribir(plantilla, "body{font-family:\"Helvetica Neue\"}")).isEqualTo("<style>body{font-family:\"Helvetica Neue\"}</style>");
+    }
+
+    @Test
+    void compilarConHuecoSinCerrar() {
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Plantilla.compilar("<p>{{texto</p>"));
+    }
+
+    @Test
+    void escribirConValoresFaltantes() {
+
+        Plantilla plantilla = Plantilla.compilar("<p>{{texto}}</p>");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> escribir(plantilla));
+    }
+
+    private String escribir(Plantilla plantilla, String... valores) {
+
+        ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+        Salida salida = new Salida(Channels.newChannel(contenido));
+
+        plantilla.escribirEn(salida, valores);
+        salida.cerrar();
+
+        return new String(contenido.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RevisionTest {
+
+    @Test
+    void revisarCadaTipoEnElOrdenDelDocumento() {
+
+        List<Tipo> tipos = Arrays.asList(
+                Tipo.clase("Nave", "1", Texto.plano("Vehículo espacial"),
+                        Collections.emptyList(),
+                        Collections.singletonList(Operacion.metodo("void", "cargar",
+                                Collections.singletonList(new Parametro("Sustancia", "sustancia")),
+                                Arrays.asList(Condicion.parametro("sustancia", Texto.plano("a cargar")),
+                                        Condicion.parametro("sustancia", Texto.plano("a guardar"))))),
+                        Collections.emptyList()),
+                Tipo.enumerado("Sustancia", "", Texto.plano("Carga de una Nave"), Arrays.asList("METAL", "CRISTAL")),
+                Tipo.enumerado("Direccion", "1", Texto.plano("Hacia dónde avanza una Nave"), Arrays.asList("NORTE", "SUR")));
+
+        Revision revision = Revision.de(tipos);
+
+        assertThat(revision.hallazgos()).extracting(Hallazgo::toString).containsExactly(
+                "Nave.cargar(Sustancia): @param 'sustancia' está documentado más de una vez [parametro-repetido]",
+                "Nave.cargar(Sustancia): no tiene @post [post-faltante]",
+                "Sustancia: no tiene @prioridad: su lugar en el documento depende del orden de las fuentes [prioridad-faltante]",
+                "Direccion: comparte la @prioridad '1' con Nave: su orden depende del orden de las fuentes [prioridad-repetida]");
+        assertThat(revision.hallazgos()).extracting(Hallazgo::esError).containsExactly(true, false, false, true);
+    }
+}
@@ -0,0 +1,284 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SalidaTest {
+
+    private static final Path DIRECTORIO = Paths.get("./target/test-result/salida");
+
+    private ByteArrayOutputStream contenido;
+    private Salida salida;
+
+    @BeforeEach
+    void crearSalida() {
+
+        contenido = new ByteArrayOutputStream();
+        salida = new Salida(Channels.newChannel(contenido), 8);
+    }
+
+    @Test
+    void escribirTextoMasLargoQueElBuffer() {
+
+        salida.escribir("la nave avanza al NORTE").terminarLinea();
+        salida.cerrar();
+
+        comprobarQueContiene("la nave avanza al NORTE" + System.lineSeparator());
+    }
+
+    @Test
+    void escribirCaracteresMultibyte() {
+
+        salida.escribir("Descripción · Métodos → 🚀");
+        salida.cerrar();
+
+        comprobarQueContiene("Descripción · Métodos → 🚀");
+    }
+
+    @Test
+    void escribirBytes() {
+
+        salida.escribir("<p>").escribir("contenido precodificado".getBytes(StandardCharsets.UTF_8)).escribir("</p>");
+        salida.cerrar();
+
+        comprobarQueContiene("<p>contenido precodificado</p>");
+    }
+
+    @Test
+    void escribirTextoHtmlUniendoEspaciosYSaltosDeLinea() {
+
+        salida.escribirTextoHtml("la nave\n    avanza   al\tNORTE ");
+        salida.cerrar();
+
+        comprobarQueContiene("la nave avanza al NORTE ");
+    }
+
+    @Test
+    void escribirTextoHtmlEscapandoCaracteresEspeciales() {
+
+        salida.escribirTextoHtml("0 <= carga && carga < \"100\" y 'más'");
+        salida.cerrar();
+
+        comprobarQueContiene("0 &lt;= carga &amp;&amp; carga &lt; &quot;100&quot; y &#39;más&#39;");
+    }
+
+    @Test
+    void noEscribeNadaHastaVaciarElBuffer() {
+
+        salida.escribir("nave");
+
+        assertThat(contenido.size()).isZero();
+    }
+
+    @Test
+    void publicarSinReemplazarUnDocumentoIdentico() throws IOException {
+
+        Path documento = dadoQueSePublico("identico.html", "<p>la nave avanza al NORTE</p>");
+        Files.setLastModifiedTime(documento, FileTime.fromMillis(0));
+        Object archivo = Files.readAttributes(documento, BasicFileAttributes.class).fileKey();
+        Publicaciones publicaciones = new Publicaciones();
+
+        Salida.hacia(documento.toString(), publicaciones).escribir("<p>la nave avanza al NORTE</p>").cerrar();
+
+        assertThat(publicaciones.modificadas()).isEmpty();
+        assertThat(publicaciones.sinCambios()).isEqualTo(1);
+        assertThat(publicaciones.escritos()).isEqualTo(30);
+        assertThat(Files.getLastModifiedTime(documento).toMillis()).isZero();
+        assertThat(Files.readAttributes(documento, BasicFileAttributes.class).fileKey()).isEqualTo(archivo);
+        comprobarQueSoloQuedaElDocumento(documento);
+    }
+
+    @Test
+    void publicarReemplazandoUnDocumentoDistinto() throws IOException {
+
+        Path documento = dadoQueSePublico("distinto.html", "<p>la nave avanza al NORTE</p>");
+        Publicaciones publicaciones = new Publicaciones();
+
+        Salida.hacia(documento.toString(), publicaciones).escribir("<p>la nave avanza al SUR_</p>").cerrar();
+
+        assertThat(publicaciones.modificadas()).containsExactly(documento.toAbsolutePath());
+        assertThat(publicaciones.sinCambios()).isZero();
+        assertThat(publicaciones.escritos()).isEqualTo(29);
+        assertThat(Files.readString(documento)).isEqualTo("<p>la nave avanza al SUR_</p>");
+        comprobarQueSoloQuedaElDocumento(documento);
+    }
+
+    @Test
+    void descartarSinReemplazarElDocumentoAnterior() throws IOException {
+
+        Path documento = dadoQueSePublico("descartado.html", "<p>la nave avanza al NORTE</p>");
+        Publicaciones publicaciones = new Publicaciones(true);
+
+        Salida salida = Salida.hacia(documento.toString(), publicaciones);
+        salida.escribir("<p>la nave avanza al SUR_</p>".repeat(10_000));
+        salida.descartar();
+
+        assertThat(Files.readString(documento)).isEqualTo("<p>la nave avanza al NORTE</p>");
+        assertThat(publicaciones.total()).isZero();
+        comprobarQueSoloQuedaElDocumento(documento);
+    }
+
+    @Test
+    void descartarSiNoPuedeReemplazarElDocumento() throws IOException {
+
+        Path documento = DIRECTORIO.resolve("ocupado").resolve("contratos.html");
+
+        if (Files.exists(documento.getParent())) {
+
+            try (Stream<Path> archivos = Files.walk(documento.getParent())) {
+
+                archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+            }
+        }
+
+        Files.createDirectories(documento.resolve("indice"));
+        Publicaciones publicaciones = new Publicaciones(true);
+
+        Salida salida = Salida.hacia(documento.toString(), publicaciones);
+        salida.escribir("<p>la nave avanza al NORTE</p>".repeat(10_000));
+
+        assertThatThrownBy(salida::cerrar).hasCauseInstanceOf(IOException.class);
+
+        try (Stream<Path> archivos = Files.list(documento.getParent())) {
+
+            assertThat(archivos.map(archivo -> archivo.getFileName().toString())).noneMatch(nombre -> nombre.endsWith(".tmp"));
+        }
+
+        assertThat(documento).isDirectory();
+        assertThat(publicaciones.total()).isZero();
+    }
+
+    @Test
+    void publicarComprimidoConManifiesto() throws IOException {
+
+        Path documento = DIRECTORIO.resolve("comprimido").resolve("contratos.html");
+        String contenido = "<p>la nave avanza al NORTE</p>".repeat(10_000);
+        Publicaciones publicaciones = new Publicaciones(true);
+
+        Salida.hacia(documento.toString(), publicaciones).escribir(contenido).cerrar();
+        publicaciones.escribirManifiestos();
+
+        Path comprimido = documento.resolveSibling("contratos.html.gz");
+
+        try (InputStream descomprimido = new GZIPInputStream(Files.newInputStream(comprimido))) {
+
+            assertThat(new String(descomprimido.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(contenido);
+        }
+
+        byte[] escrito = Files.readAllBytes(documento);
+        String huella = new Huella().agregar(escrito, 0, escrito.length).calcular();
+
+        assertThat(Files.size(comprimido)).isLessThan(escrito.length / 100);
+        assertThat(Files.readString(documento.resolveSibling(Publicaciones.MANIFIESTO)))
+                .contains("{\"nombre\":\"contratos.html\",\"bytes\":" + escrito.length
+                        + ",\"gzip\":" + Files.size(comprimido) + ",\"sha256\":\"" + huella + "\"}");
+        comprobarQueSoloQuedaElDocumento(comprimido);
+    }
+
+    @Test
+    void publicarLosRecursosComprimidosConManifiesto() throws IOException {
+
+        Path directorio = DIRECTORIO.resolve("recursos-comprimidos");
+        Publicaciones publicaciones = new Publicaciones(true);
+
+        String estilo = Salida.publicar(directorio, "estilo", ".css", "body{margin:0}", publicaciones);
+        publicaciones.escribirManifiestos();
+
+        try (InputStream descomprimido = new GZIPInputStream(Files.newInputStream(directorio.resolve(estilo + ".gz")))) {
+
+            assertThat(new String(descomprimido.readAllBytes(), StandardCharsets.UTF_8)).startsWith("body{margin:0}");
+        }
+
+        assertThat(Files.readString(directorio.resolve(Publicaciones.MANIFIESTO))).contains("{\"nombre\":\"" + estilo + "\"");
+        assertThat(publicaciones.total()).isEqualTo(1);
+    }
+
+    @Test
+    void borrarLasVersionesAnterioresDeLosRecursosPublicados() throws IOException {
+
+        Path directorio = DIRECTORIO.resolve("recursos");
+        dadoQueElDocumentoPublico(directorio, "contratos.html", "var indiceDeBusqueda = 1;");
+        Files.writeString(directorio.resolve("busqueda.js"), "propio");
+        Publicaciones publicaciones = new Publicaciones();
+
+        String vigente = Salida.publicar(directorio, "busqueda", ".js", "var indiceDeBusqueda = 2;", publicaciones);
+        String estilo = Salida.publicar(directorio, "estilo", ".css", "body{}", publicaciones);
+
+        assertThat(publicaciones.podarRecursos("contratos.html")).isEqualTo(1);
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+
+            assertThat(archivos.map(archivo -> archivo.getFileName().toString()))
+                    .containsExactlyInAnyOrder(vigente, estilo, "busqueda.js", Publicaciones.RECURSOS);
+        }
+    }
+
+    @Test
+    void conservarLosRecursosQueEnlazaOtroDocumentoDelDirectorio() throws IOException {
+
+        Path directorio = DIRECTORIO.resolve("recursos-compartidos");
+        String deA = dadoQueElDocumentoPublico(directorio, "a.html", "var indiceDeBusqueda = 'a';");
+        String deB = dadoQueElDocumentoPublico(directorio, "b.html", "var indiceDeBusqueda = 'b';");
+
+        assertThat(directorio.resolve(deA)).exists();
+
+        Publicaciones publicaciones = new Publicaciones();
+        Salida.publicar(directorio, "busqueda", ".js", "var indiceDeBusqueda = 'b';", publicaciones);
+
+        assertThat(publicaciones.podarRecursos("a.html")).isEqualTo(1);
+        assertThat(directorio.resolve(deA)).doesNotExist();
+        assertThat(directorio.resolve(deB)).exists();
+        assertThat(Files.readAllLines(directorio.resolve(Publicaciones.RECURSOS)))
+                .containsExactly("a.html\t" + deB, "b.html\t" + deB);
+    }
+
+    private String dadoQueElDocumentoPublico(Path directorio, String documento, String busqueda) {
+
+        Publicaciones publicaciones = new Publicaciones();
+        String nombre = Salida.publicar(directorio, "busqueda", ".js", busqueda, publicaciones);
+        publicaciones.podarRecursos(documento);
+
+        return nombre;
+    }
+
+    private Path dadoQueSePublico(String nombre, String contenido) throws IOException {
+
+        Path documento = DIRECTORIO.resolve(nombre);
+        Files.createDirectories(DIRECTORIO);
+        Files.writeString(documento, contenido);
+
+        return documento;
+    }
+
+    private void comprobarQueSoloQuedaElDocumento(Path documento) throws IOException {
+
+        String nombre = documento.getFileName().toString();
+
+        try (Stream<Path> archivos = Files.list(documento.getParent())) {
+
+            assertThat(archivos.map(archivo -> archivo.getFileName().toString()).filter(archivo -> archivo.contains(nombre)))
+                    .containsExactly(nombre);
+        }
+    }
+
+    private void comprobarQueContiene(String esperado) {
+
+        assertThat(new String(contenido.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(esperado);
+    }
+}
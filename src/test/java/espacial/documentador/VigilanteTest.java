@@ -0,0 +1,239 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VigilanteTest {
+
+    private static final String RUTA_BASE = "./target/test-result/vigilante/";
+
+    private Path directorio;
+
+    private Path fuentes;
+
+    private Path documento;
+
+    private Vigilante vigilante;
+
+    @BeforeEach
+    void generarFuentes(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName());
+
+        if (Files.exists(directorio)) {
+
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+
+                archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+            }
+        }
+
+        fuentes = directorio.resolve("fuentes");
+        documento = directorio.resolve("contratos.html");
+        new GeneradorDeCorpus().conTipos(2).conMetodos(1).conEnumerados(1).conValores(1).generarEn(fuentes);
+
+        vigilante = new Vigilante(fuentes, documento.toString());
+    }
+
+    @AfterEach
+    void detenerVigilante() {
+
+        vigilante.detener();
+    }
+
+    @Test
+    void regenerarSoloElArchivoModificado() throws IOException {
+
+        vigilante.regenerarTodo();
+
+        Path tipo1 = fuentes.resolve("Tipo1.java");
+        reemplazarEn(tipo1, "@pre el Tipo1 fue creado", "@pre el Tipo1 fue reparado");
+
+        vigilante.regenerar(Collections.singleton(tipo1));
+
+        assertThat(vigilante.medicion().analisis()).isPositive();
+
+        /* el enlace a Tipo0, que no se volvió a analizar, se sigue resolviendo */
+        assertThat(contenido()).containsSubsequence(
+                "<h3 id=\"Tipo0\">Tipo</h3>",
+                "el Tipo1 fue reparado y la operación 0",
+                "<a href=\"#Tipo0.operacion0(Enumerado0,int)\"><code>Tipo0.operacion0(Enumerado0, int)</code></a>",
+                "<pre id=\"Enumerado0.VALOR_0\"><code>VALOR_0</code></pre>");
+        assertThat(vigilante.tipos()).extracting(Tipo::nombre).containsExactly("Tipo0", "Tipo1", "Enumerado0");
+    }
+
+    @Test
+    void quitarLosTiposDeArchivosBorrados() throws IOException {
+
+        vigilante.regenerarTodo();
+
+        Path enumerado = fuentes.resolve("Enumerado0.java");
+        Files.delete(enumerado);
+        reemplazarEn(fuentes.resolve("Tipo0.java"), "Enumerado0", "int");
+        reemplazarEn(fuentes.resolve("Tipo1.java"), "Enumerado0", "int");
+
+        vigilante.regenerar(Collections.singleton(enumerado));
+
+        assertThat(vigilante.tipos()).extracting(Tipo::nombre).containsExactly("Tipo0", "Tipo1");
+        assertThat(contenido()).doesNotContain("VALOR_0");
+    }
+
+    @Test
+    void regenerarLosSubtiposAlModificarElContratoHeredado() throws IOException {
+
+        new GeneradorDeCorpus().conTipos(2).conMetodos(2).conHerencia(2).generarEn(fuentes);
+        vigilante.regenerarTodo();
+
+        Path tipo0 = fuentes.resolve("Tipo0.java");
+        reemplazarEn(tipo0, "@pre el Tipo0 fue creado y la operación 1", "@pre el Tipo0 fue reparado y la operación 1");
+
+        vigilante.regenerar(Collections.singleton(tipo0));
+
+        /* Tipo1.java no cambió, pero repite el contrato que hereda de Tipo0 */
+        assertThat(contenido()).containsSubsequence(
+                "<h3 id=\"Tipo1\">Tipo</h3>",
+                "Métodos heredados de <a href=\"#Tipo0\"><code>Tipo0</code></a>",
+                "operacion1DelTipo0",
+                "el Tipo0 fue reparado y la operación 1");
+        assertThat(contenido()).doesNotContain("el Tipo0 fue creado y la operación 1");
+    }
+
+    @Test
+    void regenerarLosDescendientesDeUnAncestroSinMetodos() throws IOException {
+
+        dadoQueExisteLaFuente("Carguero", "/** @prioridad 900000 */ public class Carguero {"
+                + " /** @post la bodega está llena */ public void cargar() { } }");
+        Path nave = dadoQueExisteLaFuente("Nave", "/** @prioridad 900001 */ public class Nave extends Carguero { }");
+        dadoQueExisteLaFuente("Explorador", "/** @prioridad 900002 */ public class Explorador extends Nave { }");
+        vigilante.regenerarTodo();
+
+        assertThat(seccionDe("Explorador")).contains("Métodos heredados de <a href=\"#Carguero\"><code>Carguero</code></a>");
+
+        reemplazarEn(nave, "public class Nave extends Carguero", "public class Nave");
+
+        vigilante.regenerar(Collections.singleton(nave));
+
+        /* Explorador.java no cambió y no nombra a Nave entre sus heredados, pero ya no hereda de Carguero */
+        assertThat(seccionDe("Nave")).doesNotContain("Métodos heredados");
+        assertThat(seccionDe("Explorador")).doesNotContain("Métodos heredados");
+    }
+
+    @Test
+    void regenerarAlGuardarUnaFuente() throws Exception {
+
+        vigilante.regenerarTodo();
+
+        Thread vigilancia = new Thread(vigilante::vigilar);
+        vigilancia.start();
+
+        long limite = System.currentTimeMillis() + 10_000;
+
+        /* se vuelve a guardar por si la vigilancia todavía no había empezado: más espaciado que la pausa del Vigilante */
+        while (!contenido().contains("fue reparado") && System.currentTimeMillis() < limite) {
+
+            reemplazarEn(fuentes.resolve("Tipo0.java"), "@pre el Tipo0 fue creado", "@pre el Tipo0 fue reparado");
+            Thread.sleep(500);
+        }
+
+        vigilante.detener();
+        vigilancia.join(10_000);
+
+        assertThat(contenido()).contains("el Tipo0 fue reparado y la operación 0");
+        assertThat(vigilancia.isAlive()).isFalse();
+    }
+
+    @Test
+    void conservarElModeloSiUnaFuenteNoCompila() throws IOException {
+
+        vigilante.regenerarTodo();
+        String anterior = contenido();
+
+        Path tipo1 = fuentes.resolve("Tipo1.java");
+        reemplazarEn(tipo1, "public class Tipo1 {", "public class Tipo1 {{");
+
+        assertThatThrownBy(() -> vigilante.regenerar(Collections.singleton(tipo1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Tipo1.java");
+
+        assertThat(vigilante.tipos()).extracting(Tipo::nombre).containsExactly("Tipo0", "Tipo1", "Enumerado0");
+        assertThat(contenido()).isEqualTo(anterior);
+    }
+
+    @Test
+    void seguirVigilandoDespuesDeUnaFuenteQueNoCompila() throws Exception {
+
+        vigilante.regenerarTodo();
+
+        Path tipo0 = fuentes.resolve("Tipo0.java");
+        Thread vigilancia = new Thread(vigilante::vigilar);
+        vigilancia.start();
+
+        esperarQueElDocumentoContenga(tipo0, "@pre el Tipo0 fue creado", "@pre el Tipo0 fue revisado", "fue revisado");
+
+        reemplazarEn(tipo0, "public class Tipo0 {", "public class Tipo0 {{");
+        Thread.sleep(500);
+
+        reemplazarEn(tipo0, "public class Tipo0 {{", "public class Tipo0 {");
+        esperarQueElDocumentoContenga(tipo0, "@pre el Tipo0 fue revisado", "@pre el Tipo0 fue reparado", "fue reparado");
+
+        assertThat(vigilancia.isAlive()).isTrue();
+
+        vigilante.detener();
+        vigilancia.join(10_000);
+
+        assertThat(contenido()).contains("el Tipo0 fue reparado y la operación 0");
+    }
+
+    /* se vuelve a guardar por si la vigilancia todavía no había empezado: más espaciado que la pausa del Vigilante */
+    private void esperarQueElDocumentoContenga(Path fuente, String texto, String reemplazo, String esperado) throws Exception {
+
+        long limite = System.currentTimeMillis() + 10_000;
+
+        while (!contenido().contains(esperado) && System.currentTimeMillis() < limite) {
+
+            reemplazarEn(fuente, texto, reemplazo);
+            Thread.sleep(500);
+        }
+    }
+
+    private Path dadoQueExisteLaFuente(String tipo, String codigo) throws IOException {
+
+        return Files.write(fuentes.resolve(tipo + ".java"), codigo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* desde su título hasta el del siguiente Tipo */
+    private String seccionDe(String tipo) throws IOException {
+
+        String contenido = contenido();
+        int desde = contenido.indexOf("<h3 id=\"" + tipo + "\">");
+        int hasta = contenido.indexOf("<h3 id=", desde + 1);
+
+        assertThat(desde).isNotNegative();
+
+        return contenido.substring(desde, hasta < 0 ? contenido.length() : hasta);
+    }
+
+    private static void reemplazarEn(Path archivo, String texto, String reemplazo) throws IOException {
+
+        String codigo = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+        Files.write(archivo, codigo.replace(texto, reemplazo).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String contenido() throws IOException {
+
+        return new String(Files.readAllBytes(documento), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package espacial.documentador;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VolcadoTest {
+
+    private static final String RUTA_BASE = "./target/test-result/volcado/";
+
+    private Path directorio;
+
+    private Volcado volcado;
+
+    @BeforeEach
+    void definirDirectorio(TestInfo testInfo) throws IOException {
+
+        directorio = Paths.get(RUTA_BASE + testInfo.getTestMethod().get().getName());
+        Files.createDirectories(directorio);
+        Files.deleteIfExists(directorio.resolve("documento.html"));
+    }
+
+    @Test
+    void transferirLosFragmentosEnOrdenDePrioridad() throws IOException {
+
+        dadoQueSeVolcaronFragmentosDesordenados();
+
+        Salida salida = Salida.hacia(directorio.resolve("documento.html").toString());
+        salida.escribir("<inicio>");
+        volcado.transferirA(salida);
+        salida.escribir("<fin>").cerrar();
+
+        assertThat(contenidoDe("documento.html")).isEqualTo("<inicio><1a><1b><2><3><fin>");
+        assertThat(volcado.fragmentos()).isEqualTo(4);
+        assertThat(volcado.archivos()).isEqualTo(3);
+    }
+
+    @Test
+    void volcarMasPrioridadesQueArchivosAbiertos() throws IOException {
+
+        volcado = new Volcado(directorio);
+        StringBuilder esperado = new StringBuilder();
+
+        for (int prioridad = 100; prioridad < 300; prioridad++) {
+
+            volcado.agregar(String.valueOf(prioridad), bytes("<" + prioridad + "a>"));
+        }
+
+        for (int prioridad = 100; prioridad < 300; prioridad++) {
+
+            volcado.agregar(String.valueOf(prioridad), bytes("<" + prioridad + "b>"));
+            esperado.append("<").append(prioridad).append("a><").append(prioridad).append("b>");
+        }
+
+        Salida salida = Salida.hacia(directorio.resolve("documento.html").toString());
+        volcado.transferirA(salida);
+        salida.cerrar();
+        volcado.borrar();
+
+        assertThat(contenidoDe("documento.html")).isEqualTo(esperado.toString());
+        assertThat(volcado.archivos()).isEqualTo(200);
+    }
+
+    @Test
+    void borrarLosArchivosTemporales() throws IOException {
+
+        dadoQueSeVolcaronFragmentosDesordenados();
+
+        volcado.borrar();
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+
+            assertThat(archivos).isEmpty();
+        }
+    }
+
+    private void dadoQueSeVolcaronFragmentosDesordenados() {
+
+        volcado = new Volcado(directorio);
+        volcado.agregar("3", bytes("<3>"));
+        volcado.agregar("1", bytes("<1a>"));
+        volcado.agregar("2", bytes("<2>"));
+        volcado.agregar("1", bytes("<1b>"));
+    }
+
+    private static byte[] bytes(String texto) {
+
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String contenidoDe(String archivo) throws IOException {
+
+        return new String(Files.readAllBytes(directorio.resolve(archivo)), StandardCharsets.UTF_8);
+    }
+}